@@ -0,0 +1,171 @@
+/*
+ * Copyright 2022 Pranav Pandey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.pranavpandey.android.dynamic.rating;
+
+import com.pranavpandey.android.dynamic.rating.clock.SystemRatingClock;
+import com.pranavpandey.android.dynamic.rating.engine.RatingEngine;
+import com.pranavpandey.android.dynamic.rating.store.AsyncRatingStore;
+import com.pranavpandey.android.dynamic.rating.store.InMemoryRatingStore;
+import com.pranavpandey.android.dynamic.rating.store.MappedRatingStore;
+import com.pranavpandey.android.dynamic.rating.store.RatingStore;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the {@link RatingEngine} with the different stores.
+ * <p>Run them with {@code ./gradlew :dynamic-rating-core:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RatingEngineBenchmark {
+
+    /**
+     * Store to be used by the engine.
+     */
+    @Param({ "memory", "async", "mapped" })
+    public String store;
+
+    /**
+     * Engine to be benchmarked.
+     */
+    private RatingEngine mEngine;
+
+    /**
+     * Executor for the asynchronous store.
+     */
+    private ExecutorService mExecutor;
+
+    /**
+     * File for the memory-mapped store.
+     */
+    private File mFile;
+
+    /**
+     * Create the engine for the selected store.
+     *
+     * @throws IOException If the file for the memory-mapped store cannot be created.
+     */
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        RatingStore ratingStore = new InMemoryRatingStore();
+
+        if ("async".equals(store)) {
+            mExecutor = Executors.newSingleThreadExecutor();
+            ratingStore = new AsyncRatingStore(ratingStore, mExecutor);
+        } else if ("mapped".equals(store)) {
+            mFile = File.createTempFile("rating", ".bin");
+            ratingStore = new MappedRatingStore(mFile, ratingStore);
+        }
+
+        mEngine = new RatingEngine(ratingStore, SystemRatingClock.getInstance());
+        mEngine.initialize();
+    }
+
+    /**
+     * Release the resources used by the selected store.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (mExecutor != null) {
+            mExecutor.shutdown();
+        }
+
+        if (mFile != null) {
+            mFile.delete();
+        }
+    }
+
+    /**
+     * Benchmark the launch count update.
+     *
+     * @return The engine to be consumed.
+     */
+    @Benchmark
+    public RatingEngine initialize() {
+        return mEngine.initialize();
+    }
+
+    /**
+     * Benchmark the rating conditions check.
+     *
+     * @return {@code true} if all the rating conditions are met.
+     */
+    @Benchmark
+    public boolean shouldRate() {
+        return mEngine.shouldRate();
+    }
+
+    /**
+     * Benchmark the reminder update.
+     */
+    @Benchmark
+    public void setReminder() {
+        mEngine.setReminder(true);
+    }
+
+    /**
+     * Benchmark the rating conditions check while the state is being updated.
+     *
+     * @return {@code true} if all the rating conditions are met.
+     */
+    @Benchmark
+    @Group("contention")
+    @GroupThreads(4)
+    public boolean contentionShouldRate() {
+        return mEngine.shouldRate();
+    }
+
+    /**
+     * Benchmark the launch count update while the state is being read.
+     *
+     * @return The engine to be consumed.
+     */
+    @Benchmark
+    @Group("contention")
+    @GroupThreads(2)
+    public RatingEngine contentionInitialize() {
+        return mEngine.initialize();
+    }
+
+    /**
+     * Benchmark the reminder update while the state is being read.
+     */
+    @Benchmark
+    @Group("contention")
+    @GroupThreads(1)
+    public void contentionSetReminder() {
+        mEngine.setReminder(true);
+    }
+}
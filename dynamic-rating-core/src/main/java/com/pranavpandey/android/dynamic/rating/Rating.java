@@ -0,0 +1,446 @@
+/*
+ * Copyright 2022 Pranav Pandey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.pranavpandey.android.dynamic.rating;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.Date;
+
+/**
+ * An interface to hold various rating constants.
+ */
+@Retention(RetentionPolicy.SOURCE)
+public @interface Rating {
+
+    /**
+     * File name for the dynamic rating preferences.
+     */
+    String PREFS = "dynamic_rating";
+
+    /**
+     * File name for the dynamic rating data shared between the processes.
+     */
+    String FILE = "dynamic_rating.bin";
+
+    /**
+     * File name for the dynamic rating interactions log.
+     */
+    String INTERACTIONS = "dynamic_rating_interactions.bin";
+
+    /**
+     * File name for the compiled dynamic rating rules.
+     */
+    String RULES = "dynamic_rating_rules.bin";
+
+    /**
+     * An interface to hold key constants.
+     */
+    @Retention(RetentionPolicy.SOURCE)
+    @interface Key {
+
+        /**
+         * Constant for the key prefix.
+         */
+        String BASE = "adr_key_";
+
+        /**
+         * Constant for the separator after the campaign id.
+         */
+        String SEPARATOR = "_";
+
+        /**
+         * Key constant for the first launch date.
+         */
+        String FIRST_LAUNCH = "first_launch";
+
+        /**
+         * Key constant for the last launch date.
+         */
+        String LAST_LAUNCH = "last_launch";
+
+        /**
+         * Key constant for the last reminder date.
+         */
+        String LAST_REMINDER = "last_reminder";
+
+        /**
+         * Key constant for the launch count.
+         */
+        String LAUNCH_COUNT = "launch_count";
+
+        /**
+         * Key constant for the rating request.
+         */
+        String IS_REQUEST = "is_request";
+
+        /**
+         * Constant for the event prefix key.
+         */
+        String EVENT = "event_";
+
+        /**
+         * Key constant for the tokens of the global rate limiter.
+         */
+        String LIMITER_TOKENS = "adr_limiter_tokens";
+
+        /**
+         * Key constant for the last refill time of the global rate limiter.
+         */
+        String LIMITER_REFILL = "adr_limiter_refill";
+    }
+
+    /**
+     * An interface to hold value constants.
+     */
+    @Retention(RetentionPolicy.SOURCE)
+    @interface Value {
+
+        /**
+         * Constant value for the unknown rating.
+         */
+        float UNKNOWN = -1f;
+
+        /**
+         * Minimum value for the positive rating.
+         */
+        float POSITIVE = 4f;
+
+        /**
+         * Default value for the first launch date.
+         */
+        long FIRST_LAUNCH = 0L;
+
+        /**
+         * Default value for the last launch date.
+         */
+        long LAST_LAUNCH = 0L;
+
+        /**
+         * Default value for the last reminder date.
+         */
+        long LAST_REMINDER = new Date().getTime();
+
+        /**
+         * Default value for the launch count.
+         */
+        int LAUNCH_COUNT = 0;
+
+        /**
+         * Default value for the rating request.
+         */
+        boolean IS_REQUEST = true;
+    }
+
+    /**
+     * An interface to hold default values.
+     */
+    @Retention(RetentionPolicy.SOURCE)
+    @interface Default {
+
+        /**
+         * Default value for the rate interval.
+         */
+        int RATE_INTERVAL = 2;
+
+        /**
+         * Default value for the launch count.
+         */
+        int RATE_COUNT = 5;
+
+        /**
+         * Default value for the remind interval.
+         */
+        int REMIND_INTERVAL = 2;
+
+        /**
+         * Default policy for the pending initialization.
+         */
+        int PENDING = Pending.SKIP;
+
+        /**
+         * Default no. of days before the rating conditions are met to prepare the dialog.
+         */
+        int PREWARM_INTERVAL = 1;
+
+        /**
+         * Default no. of timestamps to be kept for each event type.
+         */
+        int EVENT_CAPACITY = 32;
+
+        /**
+         * Default no. of days to count the events for the rating rules.
+         */
+        int EVENT_WINDOW = 90;
+
+        /**
+         * Default minimum delay in milliseconds to show the scheduled rating dialog after
+         * the activity has been resumed.
+         */
+        long SCHEDULE_DELAY = 1000L;
+
+        /**
+         * Default no. of interactions to be buffered in memory before writing them to the log.
+         */
+        int INTERACTION_BUFFER = 32;
+
+        /**
+         * Default maximum size in bytes of the interactions log.
+         */
+        long INTERACTION_LOG_SIZE = 64 * 1024L;
+
+        /**
+         * Default no. of rating dialogs allowed within the limiter period.
+         */
+        int LIMITER_CAPACITY = 1;
+
+        /**
+         * Default period in milliseconds to refill a token of the rate limiter.
+         */
+        long LIMITER_PERIOD = 24 * 60 * 60 * 1000L;
+
+        /**
+         * Default time in milliseconds to keep the prepared review request.
+         */
+        long REVIEW_TTL = 5 * 60 * 1000L;
+    }
+
+    /**
+     * An interface to hold the policies for the pending asynchronous initialization.
+     */
+    @Retention(RetentionPolicy.SOURCE)
+    @interface Pending {
+
+        /**
+         * Constant to wait for the pending initialization before checking the conditions.
+         * <p>It blocks the calling thread, so it should not be used on the main thread.
+         */
+        int WAIT = 0;
+
+        /**
+         * Constant to skip the rating until the pending initialization is complete.
+         * <p>It never blocks the calling thread.
+         */
+        int SKIP = 1;
+    }
+
+    /**
+     * An interface to hold the estimated costs to evaluate the rating conditions.
+     */
+    @Retention(RetentionPolicy.SOURCE)
+    @interface Cost {
+
+        /**
+         * Cost for a condition evaluated from the memory.
+         */
+        int MEMORY = 0;
+
+        /**
+         * Cost for a condition evaluated against the current time.
+         */
+        int TIME = 1;
+
+        /**
+         * Cost for a condition evaluated from the disk or a database.
+         */
+        int DISK = 100;
+
+        /**
+         * Cost for a condition evaluated over the network.
+         */
+        int NETWORK = 1000;
+    }
+
+    /**
+     * An interface to hold the keys of the declarative rating rules.
+     */
+    @Retention(RetentionPolicy.SOURCE)
+    @interface Rule {
+
+        /**
+         * Key for the minimum no. of days to be passed.
+         */
+        String MIN_DAYS = "minDays";
+
+        /**
+         * Key for the minimum no. of launch count to be reached.
+         */
+        String MIN_LAUNCHES = "minLaunches";
+
+        /**
+         * Key for the minimum no. of days to be passed after the last reminder.
+         */
+        String REMIND_DAYS = "remindDays";
+
+        /**
+         * Key for the events to be logged mapped by their type.
+         */
+        String EVENTS = "events";
+
+        /**
+         * Key for the minimum no. of events to be logged.
+         */
+        String COUNT = "count";
+
+        /**
+         * Key for the no. of days to count the events.
+         */
+        String DAYS = "days";
+    }
+
+    /**
+     * An interface to hold the types of the rating interactions.
+     */
+    @Retention(RetentionPolicy.SOURCE)
+    @interface Interaction {
+
+        /**
+         * Interaction when the rating has been changed in the dialog.
+         */
+        int CHANGED = 0;
+
+        /**
+         * Interaction when a positive rating has been selected.
+         */
+        int RATE = 1;
+
+        /**
+         * Interaction when a negative rating has been selected.
+         */
+        int FEEDBACK = 2;
+
+        /**
+         * Interaction when the rating request has been postponed.
+         */
+        int LATER = 3;
+
+        /**
+         * Interaction when the rating request has been skipped.
+         */
+        int SKIP = 4;
+    }
+
+    /**
+     * An interface to hold the counters for the rating metrics.
+     */
+    @Retention(RetentionPolicy.SOURCE)
+    @interface Metric {
+
+        /**
+         * Counter for the rating conditions checks.
+         */
+        int SHOULD_RATE = 0;
+
+        /**
+         * Counter for the initializations.
+         */
+        int INITIALIZE = 1;
+
+        /**
+         * Counter for the rating dialogs shown.
+         */
+        int SHOWN = 2;
+
+        /**
+         * Counter for the positive ratings selected.
+         */
+        int RATE = 3;
+
+        /**
+         * Counter for the negative ratings selected.
+         */
+        int FEEDBACK = 4;
+
+        /**
+         * Counter for the rating requests postponed.
+         */
+        int LATER = 5;
+
+        /**
+         * Counter for the rating requests skipped.
+         */
+        int SKIP = 6;
+
+        /**
+         * Total no. of counters.
+         */
+        int COUNT = 7;
+    }
+
+    /**
+     * An interface to hold the latencies for the rating metrics.
+     */
+    @Retention(RetentionPolicy.SOURCE)
+    @interface Latency {
+
+        /**
+         * Latency of the rating conditions checks.
+         */
+        int SHOULD_RATE = 0;
+
+        /**
+         * Latency of the initializations.
+         */
+        int INITIALIZE = 1;
+
+        /**
+         * Latency of the writes to the store.
+         */
+        int WRITE = 2;
+
+        /**
+         * Total no. of latencies.
+         */
+        int COUNT = 3;
+    }
+
+    /**
+     * An interface to hold the names of the traced sections.
+     */
+    @Retention(RetentionPolicy.SOURCE)
+    @interface Trace {
+
+        /**
+         * Section to initialize the rating state.
+         */
+        String INITIALIZE = "DynamicRating.initialize";
+
+        /**
+         * Section to pre-load the rating state.
+         */
+        String PRELOAD = "DynamicRating.preload";
+
+        /**
+         * Section to check the rating conditions.
+         */
+        String SHOULD_RATE = "DynamicRating.shouldRate";
+
+        /**
+         * Section to set the reminder conditions.
+         */
+        String SET_REMINDER = "DynamicRating.setReminder";
+
+        /**
+         * Section to build the rating dialog.
+         */
+        String CUSTOMISE_BUILDER = "DynamicRatingDialog.onCustomiseBuilder";
+
+        /**
+         * Section to show the rating dialog.
+         */
+        String SHOW_DIALOG = "DynamicRatingDialog.showDialog";
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2022 Pranav Pandey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.pranavpandey.android.dynamic.rating.clock;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link RatingClock} to provide a manually controlled time.
+ * <p>It can be used to test the rating conditions without waiting for the actual time.
+ */
+public class ManualRatingClock implements RatingClock {
+
+    /**
+     * Current time in milliseconds.
+     */
+    private volatile long mTime;
+
+    /**
+     * Constructor to initialize an object of this class with the current wall clock time.
+     */
+    public ManualRatingClock() {
+        this(System.currentTimeMillis());
+    }
+
+    /**
+     * Constructor to initialize an object of this class.
+     *
+     * @param millis The initial time in milliseconds.
+     */
+    public ManualRatingClock(long millis) {
+        this.mTime = millis;
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return mTime;
+    }
+
+    /**
+     * Sets the current time in milliseconds.
+     *
+     * @param millis The time to be set.
+     *
+     * @return The {@link ManualRatingClock} object to allow for chaining of calls to
+     *         set methods.
+     */
+    public @NonNull ManualRatingClock setTime(long millis) {
+        this.mTime = millis;
+
+        return this;
+    }
+
+    /**
+     * Advance the current time by the supplied duration.
+     *
+     * @param duration The duration to be advanced.
+     * @param unit The unit of the duration.
+     *
+     * @return The {@link ManualRatingClock} object to allow for chaining of calls to
+     *         set methods.
+     */
+    public synchronized @NonNull ManualRatingClock advance(long duration, @NonNull TimeUnit unit) {
+        this.mTime += unit.toMillis(duration);
+
+        return this;
+    }
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2022 Pranav Pandey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.pranavpandey.android.dynamic.rating.clock;
+
+/**
+ * An interface to provide the current time for the rating conditions.
+ * <p>It can be replaced to control the time while testing the rating conditions.
+ */
+public interface RatingClock {
+
+    /**
+     * Returns the current time in milliseconds.
+     *
+     * @return The current time in milliseconds.
+     */
+    long currentTimeMillis();
+}
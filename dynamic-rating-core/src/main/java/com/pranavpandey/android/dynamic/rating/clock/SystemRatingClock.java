@@ -0,0 +1,50 @@
+/*
+ * Copyright 2022 Pranav Pandey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.pranavpandey.android.dynamic.rating.clock;
+
+import androidx.annotation.NonNull;
+
+/**
+ * A {@link RatingClock} to provide the current wall clock time.
+ */
+public final class SystemRatingClock implements RatingClock {
+
+    /**
+     * Singleton instance of {@link SystemRatingClock}.
+     */
+    private static final SystemRatingClock INSTANCE = new SystemRatingClock();
+
+    /**
+     * Making default constructor private so that it cannot be initialized.
+     * <p>Use {@link #getInstance()} instead.
+     */
+    private SystemRatingClock() { }
+
+    /**
+     * Retrieves the singleton instance of {@link SystemRatingClock}.
+     *
+     * @return The singleton instance of {@link SystemRatingClock}.
+     */
+    public static @NonNull SystemRatingClock getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2022 Pranav Pandey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.pranavpandey.android.dynamic.rating.condition;
+
+import androidx.annotation.NonNull;
+
+import com.pranavpandey.android.dynamic.rating.Rating;
+import com.pranavpandey.android.dynamic.rating.engine.RatingEngine;
+
+/**
+ * An interface to implement a condition that must be met to request the rating.
+ * <p>The conditions are evaluated in the ascending order of their cost and the evaluation
+ * stops at the first condition that is not met.
+ *
+ * @see RatingConditions
+ */
+public interface RatingCondition {
+
+    /**
+     * Returns the estimated cost to evaluate this condition.
+     * <p>The cheaper conditions will be evaluated first.
+     *
+     * @return The estimated cost to evaluate this condition.
+     *
+     * @see Rating.Cost
+     */
+    int getCost();
+
+    /**
+     * Checks whether the result of this condition depends only on the rating state and
+     * configuration.
+     * <p>The result of a pure condition will be cached until the rating state or
+     * configuration is changed or {@link RatingEngine#invalidateConditions()} is called.
+     *
+     * @return {@code true} if the result of this condition can be cached.
+     */
+    boolean isPure();
+
+    /**
+     * Checks whether this condition is met.
+     *
+     * @param engine The engine evaluating this condition.
+     *
+     * @return {@code true} if this condition is met.
+     */
+    boolean isMet(@NonNull RatingEngine engine);
+}
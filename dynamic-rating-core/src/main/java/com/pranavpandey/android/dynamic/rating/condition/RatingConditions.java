@@ -0,0 +1,181 @@
+/*
+ * Copyright 2022 Pranav Pandey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.pranavpandey.android.dynamic.rating.condition;
+
+import androidx.annotation.NonNull;
+
+import com.pranavpandey.android.dynamic.rating.Rating;
+import com.pranavpandey.android.dynamic.rating.engine.RatingEngine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Helper class to provide the built-in rating conditions.
+ */
+public final class RatingConditions {
+
+    /**
+     * Condition to check whether the rating is requested.
+     */
+    public static final RatingCondition REQUEST = new RatingCondition() {
+        @Override
+        public int getCost() {
+            return Rating.Cost.MEMORY;
+        }
+
+        @Override
+        public boolean isPure() {
+            return true;
+        }
+
+        @Override
+        public boolean isMet(@NonNull RatingEngine engine) {
+            return engine.getState().isRequest();
+        }
+    };
+
+    /**
+     * Condition to check whether the launch count conditions are met.
+     *
+     * @see RatingEngine#isDueCount()
+     */
+    public static final RatingCondition RATE_COUNT = new RatingCondition() {
+        @Override
+        public int getCost() {
+            return Rating.Cost.MEMORY;
+        }
+
+        @Override
+        public boolean isPure() {
+            return true;
+        }
+
+        @Override
+        public boolean isMet(@NonNull RatingEngine engine) {
+            return engine.isDueCount();
+        }
+    };
+
+    /**
+     * Condition to check whether the rating interval conditions are met.
+     *
+     * @see RatingEngine#isDueRating()
+     */
+    public static final RatingCondition RATE_INTERVAL = new RatingCondition() {
+        @Override
+        public int getCost() {
+            return Rating.Cost.TIME;
+        }
+
+        @Override
+        public boolean isPure() {
+            return false;
+        }
+
+        @Override
+        public boolean isMet(@NonNull RatingEngine engine) {
+            return engine.isDueRating();
+        }
+    };
+
+    /**
+     * Condition to check whether the rating reminder conditions are met.
+     *
+     * @see RatingEngine#isDueReminder()
+     */
+    public static final RatingCondition REMIND_INTERVAL = new RatingCondition() {
+        @Override
+        public int getCost() {
+            return Rating.Cost.TIME;
+        }
+
+        @Override
+        public boolean isPure() {
+            return false;
+        }
+
+        @Override
+        public boolean isMet(@NonNull RatingEngine engine) {
+            return engine.isDueReminder();
+        }
+    };
+
+    /**
+     * Making default constructor private so that it cannot be initialized.
+     */
+    private RatingConditions() { }
+
+    /**
+     * Returns a condition to check whether the supplied no. of events have been logged
+     * within the supplied no. of days.
+     *
+     * @param type The type of the events to be counted.
+     * @param count The minimum no. of events to be logged.
+     * @param windowDays The no. of days to be checked.
+     *
+     * @return The condition to check the no. of logged events.
+     *
+     * @see RatingEngine#logEvent(String)
+     */
+    public static @NonNull RatingCondition events(final @NonNull String type,
+            final int count, final int windowDays) {
+        return new RatingCondition() {
+            @Override
+            public int getCost() {
+                return Rating.Cost.TIME;
+            }
+
+            @Override
+            public boolean isPure() {
+                return false;
+            }
+
+            @Override
+            public boolean isMet(@NonNull RatingEngine engine) {
+                return engine.getEventCount(type, windowDays) >= count;
+            }
+        };
+    }
+
+    /**
+     * Returns the built-in rating conditions.
+     *
+     * @return The built-in rating conditions.
+     */
+    public static @NonNull List<RatingCondition> getDefaults() {
+        return Collections.unmodifiableList(Arrays.asList(
+                REQUEST, RATE_COUNT, RATE_INTERVAL, REMIND_INTERVAL));
+    }
+
+    /**
+     * Returns the built-in rating conditions along with the supplied conditions.
+     *
+     * @param conditions The conditions to be added.
+     *
+     * @return The built-in rating conditions along with the supplied conditions.
+     */
+    public static @NonNull List<RatingCondition> withDefaults(
+            @NonNull RatingCondition... conditions) {
+        final List<RatingCondition> list = new ArrayList<>(getDefaults());
+        list.addAll(Arrays.asList(conditions));
+
+        return list;
+    }
+}
@@ -0,0 +1,1788 @@
+/*
+ * Copyright 2022 Pranav Pandey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.pranavpandey.android.dynamic.rating.engine;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.pranavpandey.android.dynamic.rating.Rating;
+import com.pranavpandey.android.dynamic.rating.clock.RatingClock;
+import com.pranavpandey.android.dynamic.rating.condition.RatingCondition;
+import com.pranavpandey.android.dynamic.rating.condition.RatingConditions;
+import com.pranavpandey.android.dynamic.rating.event.EventBuffer;
+import com.pranavpandey.android.dynamic.rating.metrics.RatingMetrics;
+import com.pranavpandey.android.dynamic.rating.model.RatingConfig;
+import com.pranavpandey.android.dynamic.rating.model.RatingState;
+import com.pranavpandey.android.dynamic.rating.rules.RatingRules;
+import com.pranavpandey.android.dynamic.rating.store.RatingStore;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Engine to evaluate the rating conditions and to persist the rating state.
+ * <p>It does not depend on the Android framework, so it can be used and benchmarked on
+ * the JVM with any {@link RatingStore} and {@link RatingClock}.
+ */
+public class RatingEngine {
+
+    /**
+     * Constant for the first launch date field.
+     */
+    private static final int FIELD_FIRST_LAUNCH = 1;
+
+    /**
+     * Constant for the last launch date field.
+     */
+    private static final int FIELD_LAST_LAUNCH = 1 << 1;
+
+    /**
+     * Constant for the last reminder date field.
+     */
+    private static final int FIELD_LAST_REMINDER = 1 << 2;
+
+    /**
+     * Constant for the launch count field.
+     */
+    private static final int FIELD_LAUNCH_COUNT = 1 << 3;
+
+    /**
+     * Constant for the rating request field.
+     */
+    private static final int FIELD_IS_REQUEST = 1 << 4;
+
+    /**
+     * Constant for the unknown eligibility.
+     */
+    private static final int ELIGIBILITY_UNKNOWN = -1;
+
+    /**
+     * Constant for the rating conditions that are not met.
+     */
+    private static final int ELIGIBILITY_NONE = 0;
+
+    /**
+     * Constant for the rating conditions that are met.
+     */
+    private static final int ELIGIBILITY_DUE = 1;
+
+    /**
+     * Base key to store and retrieve the data.
+     */
+    private String mBaseKey;
+
+    /**
+     * Keys concatenated with the base key.
+     * <p>They are computed once whenever the base key is changed.
+     */
+    private volatile Keys mKeys;
+
+    /**
+     * Clock to provide the current time.
+     */
+    private volatile RatingClock mClock;
+
+    /**
+     * Store to persist the rating data.
+     */
+    private volatile RatingStore mStore;
+
+    /**
+     * Metrics to record the rating checks and the latency.
+     */
+    private volatile RatingMetrics mMetrics;
+
+    /**
+     * In-memory snapshot of the persisted rating state along with the derived deadlines.
+     * <p>It is loaded lazily and updated on every mutation or configuration change.
+     */
+    private final AtomicReference<Schedule> mSchedule;
+
+    /**
+     * Version of the multi-process store from which the in-memory snapshot was loaded.
+     */
+    private volatile long mVersion;
+
+    /**
+     * Fields of the rating state that have been modified but not persisted yet.
+     */
+    private final AtomicInteger mDirty;
+
+    /**
+     * {@code true} if the modified fields are being persisted.
+     */
+    private final AtomicBoolean mFlushing;
+
+    /**
+     * Configuration along with the rating conditions, published together so they are
+     * never observed from different rules.
+     */
+    private volatile Rules mRules;
+
+    /**
+     * Cached results of the pure rating conditions.
+     */
+    private final AtomicReference<Evaluation> mEvaluation;
+
+    /**
+     * Ring buffers of the timestamps along with their keys for each event type.
+     * <p>They are loaded lazily from the store.
+     */
+    private final ConcurrentHashMap<String, Events> mEvents;
+
+    /**
+     * Listeners to be notified when the eligibility is changed.
+     */
+    private final CopyOnWriteArrayList<OnEligibilityChangedListener> mEligibilityListeners;
+
+    /**
+     * Listener to be notified when the eligibility deadline is changed.
+     */
+    private volatile OnDeadlineChangedListener mDeadlineListener;
+
+    /**
+     * Cached eligibility while there are listeners.
+     */
+    private final AtomicInteger mEligibility;
+
+    /**
+     * Time after which the eligibility will change without any other change.
+     */
+    private final AtomicLong mDeadline;
+
+    /**
+     * Pending asynchronous initialization, if any.
+     */
+    private volatile Future<?> mPending;
+
+    /**
+     * Policy for the pending asynchronous initialization.
+     *
+     * @see Rating.Pending
+     */
+    private volatile int mPendingPolicy;
+
+    /**
+     * Constructor to initialize an object of this class with the default base key and
+     * rating conditions.
+     *
+     * @param store The store to persist the rating data.
+     * @param clock The clock to provide the current time.
+     */
+    public RatingEngine(@NonNull RatingStore store, @NonNull RatingClock clock) {
+        this(store, clock, null, RatingConfig.DEFAULT);
+    }
+
+    /**
+     * Constructor to initialize an object of this class.
+     *
+     * @param store The store to persist the rating data.
+     * @param clock The clock to provide the current time.
+     * @param baseKey The base key to store and retrieve the data.
+     * @param config The configuration for the rating conditions.
+     */
+    public RatingEngine(@NonNull RatingStore store, @NonNull RatingClock clock,
+            @Nullable String baseKey, @NonNull RatingConfig config) {
+        this.mSchedule = new AtomicReference<>();
+        this.mEvaluation = new AtomicReference<>();
+        this.mEvents = new ConcurrentHashMap<>();
+        this.mEligibilityListeners = new CopyOnWriteArrayList<>();
+        this.mEligibility = new AtomicInteger(ELIGIBILITY_UNKNOWN);
+        this.mDeadline = new AtomicLong(Long.MAX_VALUE);
+        this.mDirty = new AtomicInteger();
+        this.mFlushing = new AtomicBoolean();
+        this.mStore = store;
+        this.mClock = clock;
+        this.mBaseKey = baseKey;
+        this.mKeys = new Keys(getBaseKey());
+        this.mRules = new Rules(config, null);
+        this.mPendingPolicy = Rating.Default.PENDING;
+        this.mMetrics = RatingMetrics.NONE;
+    }
+
+    /**
+     * Initialize the rating state.
+     * <p>It is safe to call it from multiple threads, the first launch date and the launch
+     * count are updated atomically in memory and then persisted to the store.
+     *
+     * @return The {@link RatingEngine} object to allow for chaining of calls to set methods.
+     */
+    public @NonNull RatingEngine initialize() {
+        final RatingMetrics metrics = mMetrics;
+        metrics.increment(Rating.Metric.INITIALIZE);
+
+        if (!metrics.isEnabled()) {
+            update();
+        } else {
+            final long start = System.nanoTime();
+            update();
+            metrics.record(Rating.Latency.INITIALIZE, System.nanoTime() - start);
+        }
+
+        return this;
+    }
+
+    /**
+     * Update the first launch date and the launch count atomically and persist them.
+     */
+    private void update() {
+        final long time = mClock.currentTimeMillis();
+        final RatingStore store = mStore;
+
+        if (store.isMultiProcess()) {
+            store.lock();
+            try {
+                final RatingState state = load();
+                final int fields = getLaunchFields(state);
+
+                commit(store, fields, launch(state, fields, time));
+            } finally {
+                store.unlock();
+            }
+
+            onScheduleChanged();
+            return;
+        }
+
+        Schedule current;
+        int fields;
+
+        do {
+            current = getSchedule();
+            fields = getLaunchFields(current.mState);
+
+            if (fields == 0) {
+                return;
+            }
+        } while (!mSchedule.compareAndSet(current,
+                new Schedule(launch(current.mState, fields, time), mRules.mConfig)));
+
+        flush(fields);
+        onScheduleChanged();
+    }
+
+    /**
+     * Returns the fields of the supplied rating state to be modified on a launch.
+     *
+     * @param state The rating state to be checked.
+     *
+     * @return The fields of the supplied rating state to be modified on a launch.
+     */
+    private static int getLaunchFields(@NonNull RatingState state) {
+        int fields = 0;
+
+        if (state.getFirstLaunch() == Rating.Value.FIRST_LAUNCH) {
+            fields |= FIELD_FIRST_LAUNCH;
+        }
+
+        if (state.isRequest()) {
+            fields |= FIELD_LAUNCH_COUNT;
+        }
+
+        return fields;
+    }
+
+    /**
+     * Returns the rating state after a launch.
+     *
+     * @param state The rating state to be modified.
+     * @param fields The fields to be modified.
+     * @param time The time of the launch.
+     *
+     * @return The rating state after a launch.
+     *
+     * @see #getLaunchFields(RatingState)
+     */
+    private static @NonNull RatingState launch(@NonNull RatingState state,
+            int fields, long time) {
+        if ((fields & FIELD_FIRST_LAUNCH) != 0) {
+            state = state.withFirstLaunch(time);
+        }
+
+        if ((fields & FIELD_LAUNCH_COUNT) != 0) {
+            state = state.withLaunchCount(state.getLaunchCount() + 1);
+        }
+
+        return state;
+    }
+
+    /**
+     * Persist the supplied fields of the rating state while holding the lock of a
+     * multi-process store and update the in-memory snapshot.
+     *
+     * @param store The multi-process store to be used.
+     * @param fields The modified fields to be persisted.
+     * @param state The rating state to be persisted.
+     */
+    private void commit(@NonNull RatingStore store, int fields, @NonNull RatingState state) {
+        if (fields != 0) {
+            write(fields, state);
+        }
+
+        mVersion = store.getVersion();
+        mSchedule.set(new Schedule(state, mRules.mConfig));
+    }
+
+    /**
+     * Initialize the rating state asynchronously on the supplied executor.
+     * <p>The rating conditions will wait for or skip the pending initialization according
+     * to the {@link #getPendingPolicy()}.
+     *
+     * @param executor The executor to perform the initialization.
+     * @param callback The callback to be called on the executor thread after the
+     *                 initialization is complete.
+     * @param <T> The type of the result returned by the callback.
+     *
+     * @return The future to track the pending initialization.
+     *
+     * @see #initialize()
+     */
+    public @NonNull <T> Future<T> initializeAsync(@NonNull Executor executor,
+            final @Nullable Callable<T> callback) {
+        final FutureTask<T> task = new FutureTask<>(new Callable<T>() {
+            @Override
+            public T call() throws Exception {
+                initialize();
+
+                return callback != null ? callback.call() : null;
+            }
+        });
+
+        mPending = task;
+        executor.execute(task);
+        return task;
+    }
+
+    /**
+     * Checks whether the pending asynchronous initialization is complete.
+     * <p>It will block the calling thread until the pending initialization is complete if
+     * the policy is {@link Rating.Pending#WAIT}.
+     *
+     * @return {@code true} if there is no pending initialization.
+     */
+    private boolean isInitialized() {
+        final Future<?> pending = mPending;
+
+        if (pending == null || pending.isDone()) {
+            return true;
+        }
+
+        if (mPendingPolicy == Rating.Pending.SKIP) {
+            return false;
+        }
+
+        try {
+            pending.get();
+        } catch (ExecutionException ignored) {
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns the policy for the pending asynchronous initialization.
+     *
+     * @return The policy for the pending asynchronous initialization.
+     *
+     * @see Rating.Pending
+     */
+    public int getPendingPolicy() {
+        return mPendingPolicy;
+    }
+
+    /**
+     * Sets the policy for the pending asynchronous initialization.
+     * <p>The default {@link Rating.Pending#SKIP} policy never blocks the calling thread,
+     * while {@link Rating.Pending#WAIT} blocks it and should not be used on the main thread.
+     *
+     * @param policy The policy to be set.
+     *
+     * @return The {@link RatingEngine} object to allow for chaining of calls to set methods.
+     *
+     * @see Rating.Pending
+     */
+    public @NonNull RatingEngine setPendingPolicy(int policy) {
+        this.mPendingPolicy = policy;
+
+        return this;
+    }
+
+    /**
+     * Checks whether the supplied date is due against the current date.
+     *
+     * @param millis The date to be checked.
+     * @param threshold The threshold to be met.
+     *
+     * @return {@code true} if the supplied date is due against the current date.
+     */
+    private boolean isDueDate(long millis, int threshold) {
+        return mClock.currentTimeMillis() - millis >= toMillis(threshold);
+    }
+
+    /**
+     * Converts the supplied no. of days into milliseconds.
+     *
+     * @param days The no. of days to be converted.
+     *
+     * @return The supplied no. of days in milliseconds.
+     */
+    private static long toMillis(int days) {
+        return days * 24 * 60 * 60 * 1000L;
+    }
+
+    /**
+     * Returns the base to store and retrieve the data.
+     *
+     * @return The base to store and retrieve the data.
+     */
+    public @NonNull String getBaseKey() {
+        return mBaseKey != null ? mBaseKey : Rating.Key.BASE;
+    }
+
+    /**
+     * Sets the base key to store and retrieve the data.
+     *
+     * @param baseKey The base to be set.
+     *
+     * @return The {@link RatingEngine} object to allow for chaining of calls to set methods.
+     */
+    public @NonNull RatingEngine setBaseKey(@Nullable String baseKey) {
+        this.mBaseKey = baseKey;
+        this.mKeys = new Keys(getBaseKey());
+        this.mSchedule.set(null);
+        this.mEvents.clear();
+        onScheduleChanged();
+
+        return this;
+    }
+
+    /**
+     * Returns the clock to provide the current time.
+     *
+     * @return The clock to provide the current time.
+     */
+    public @NonNull RatingClock getClock() {
+        return mClock;
+    }
+
+    /**
+     * Sets the clock to provide the current time.
+     *
+     * @param clock The clock to be set.
+     *
+     * @return The {@link RatingEngine} object to allow for chaining of calls to set methods.
+     *
+     * @see com.pranavpandey.android.dynamic.rating.clock.SystemRatingClock
+     * @see com.pranavpandey.android.dynamic.rating.clock.ManualRatingClock
+     */
+    public @NonNull RatingEngine setClock(@NonNull RatingClock clock) {
+        this.mClock = clock;
+        onScheduleChanged();
+
+        return this;
+    }
+
+    /**
+     * Returns the store to persist the rating data.
+     *
+     * @return The store to persist the rating data.
+     */
+    public @NonNull RatingStore getStore() {
+        return mStore;
+    }
+
+    /**
+     * Sets the store to persist the rating data.
+     * <p>The rating state will be reloaded from the supplied store.
+     *
+     * @param store The store to be set.
+     *
+     * @return The {@link RatingEngine} object to allow for chaining of calls to set methods.
+     *
+     * @see com.pranavpandey.android.dynamic.rating.store.InMemoryRatingStore
+     * @see com.pranavpandey.android.dynamic.rating.store.AsyncRatingStore
+     */
+    public @NonNull RatingEngine setStore(@NonNull RatingStore store) {
+        this.mStore = store;
+        this.mSchedule.set(null);
+        this.mEvents.clear();
+        onScheduleChanged();
+
+        return this;
+    }
+
+    /**
+     * Returns the metrics to record the rating checks and the latency.
+     *
+     * @return The metrics to record the rating checks and the latency.
+     */
+    public @NonNull RatingMetrics getMetrics() {
+        return mMetrics;
+    }
+
+    /**
+     * Sets the metrics to record the rating checks and the latency.
+     *
+     * @param metrics The metrics to be set, {@code null} to disable the metrics.
+     *
+     * @return The {@link RatingEngine} object to allow for chaining of calls to set methods.
+     *
+     * @see com.pranavpandey.android.dynamic.rating.metrics.InMemoryRatingMetrics
+     */
+    public @NonNull RatingEngine setMetrics(@Nullable RatingMetrics metrics) {
+        this.mMetrics = metrics != null ? metrics : RatingMetrics.NONE;
+
+        return this;
+    }
+
+    /**
+     * Returns the in-memory snapshot of the rating state.
+     * <p>It will be loaded from the store if not available.
+     *
+     * @return The in-memory snapshot of the rating state.
+     */
+    public @NonNull RatingState getState() {
+        return getSchedule().mState;
+    }
+
+    /**
+     * Returns the in-memory snapshot of the rating state along with the derived deadlines.
+     *
+     * @return The in-memory snapshot of the rating state along with the derived deadlines.
+     */
+    private @NonNull Schedule getSchedule() {
+        Schedule schedule = mSchedule.get();
+        final RatingStore store = mStore;
+
+        if (schedule != null && store.isMultiProcess() && store.getVersion() != mVersion) {
+            final long version = store.getVersion();
+            final Schedule loaded = new Schedule(load(), mRules.mConfig);
+
+            mVersion = version;
+            if (mSchedule.compareAndSet(schedule, loaded)) {
+                onScheduleChanged();
+            }
+
+            schedule = mSchedule.get();
+        }
+
+        if (schedule == null) {
+            mVersion = store.getVersion();
+            final Schedule loaded = new Schedule(load(), mRules.mConfig);
+
+            if (mSchedule.compareAndSet(null, loaded)) {
+                schedule = loaded;
+            } else {
+                schedule = getSchedule();
+            }
+        }
+
+        return schedule;
+    }
+
+    /**
+     * Update the in-memory snapshot and compute the derived deadlines.
+     *
+     * @param state The rating state to be set.
+     *
+     * @return The updated snapshot along with the derived deadlines.
+     */
+    private @NonNull Schedule setState(@NonNull RatingState state) {
+        final Schedule schedule = new Schedule(state, mRules.mConfig);
+
+        mSchedule.set(schedule);
+        onScheduleChanged();
+
+        return schedule;
+    }
+
+    /**
+     * Compute the derived deadlines again after a change in the rating conditions.
+     */
+    private void invalidateSchedule() {
+        Schedule current;
+
+        do {
+            current = mSchedule.get();
+        } while (current != null && !mSchedule.compareAndSet(
+                current, new Schedule(current.mState, mRules.mConfig)));
+
+        onScheduleChanged();
+    }
+
+    /**
+     * Persist the supplied modified fields of the rating state to the store.
+     * <p>Only one thread writes to the store at a time and it always writes the latest
+     * snapshot, so the updates from the other threads are never lost or reordered.
+     *
+     * @param fields The modified fields to be persisted.
+     */
+    private void flush(int fields) {
+        int dirty;
+        do {
+            dirty = mDirty.get();
+        } while (!mDirty.compareAndSet(dirty, dirty | fields));
+
+        while (mDirty.get() != 0 && mFlushing.compareAndSet(false, true)) {
+            try {
+                final RatingMetrics metrics = mMetrics;
+
+                if (!metrics.isEnabled()) {
+                    write(mDirty.getAndSet(0), getSchedule().mState);
+                } else {
+                    final long start = System.nanoTime();
+                    write(mDirty.getAndSet(0), getSchedule().mState);
+                    metrics.record(Rating.Latency.WRITE, System.nanoTime() - start);
+                }
+            } finally {
+                mFlushing.set(false);
+            }
+        }
+    }
+
+    /**
+     * Write the supplied fields of the rating state to the store in a single batch.
+     * <p>The fields with the default values will be deleted from the store.
+     *
+     * @param fields The fields to be written.
+     * @param state The rating state to be written.
+     */
+    private void write(int fields, @NonNull RatingState state) {
+        final Keys keys = mKeys;
+        final RatingStore.Batch batch = mStore.edit();
+
+        if ((fields & FIELD_FIRST_LAUNCH) != 0) {
+            if (state.getFirstLaunch() == Rating.Value.FIRST_LAUNCH) {
+                batch.delete(keys.mFirstLaunch);
+            } else {
+                batch.putLong(keys.mFirstLaunch, state.getFirstLaunch());
+            }
+        }
+
+        if ((fields & FIELD_LAST_LAUNCH) != 0) {
+            if (state.getLastLaunch() == Rating.Value.LAST_LAUNCH) {
+                batch.delete(keys.mLastLaunch);
+            } else {
+                batch.putLong(keys.mLastLaunch, state.getLastLaunch());
+            }
+        }
+
+        if ((fields & FIELD_LAST_REMINDER) != 0) {
+            if (state.getLastReminder() == Rating.Value.LAST_REMINDER) {
+                batch.delete(keys.mLastReminder);
+            } else {
+                batch.putLong(keys.mLastReminder, state.getLastReminder());
+            }
+        }
+
+        if ((fields & FIELD_LAUNCH_COUNT) != 0) {
+            if (state.getLaunchCount() == Rating.Value.LAUNCH_COUNT) {
+                batch.delete(keys.mLaunchCount);
+            } else {
+                batch.putInt(keys.mLaunchCount, state.getLaunchCount());
+            }
+        }
+
+        if ((fields & FIELD_IS_REQUEST) != 0) {
+            batch.putBoolean(keys.mRequest, state.isRequest());
+        }
+
+        batch.apply();
+    }
+
+    /**
+     * Reload the rating state from the store.
+     * <p>It should be called if the store has been modified outside of this class.
+     *
+     * @return The reloaded rating state.
+     */
+    public @NonNull RatingState reload() {
+        return setState(load()).mState;
+    }
+
+    /**
+     * Load the rating state from the store.
+     *
+     * @return The rating state loaded from the store.
+     */
+    private @NonNull RatingState load() {
+        final RatingStore store = mStore;
+        final Keys keys = mKeys;
+
+        return new RatingState(
+                store.getLong(keys.mFirstLaunch, Rating.Value.FIRST_LAUNCH),
+                store.getLong(keys.mLastLaunch, Rating.Value.LAST_LAUNCH),
+                store.getLong(keys.mLastReminder, Rating.Value.LAST_REMINDER),
+                store.getInt(keys.mLaunchCount, Rating.Value.LAUNCH_COUNT),
+                store.getBoolean(keys.mRequest, Rating.Value.IS_REQUEST));
+    }
+
+    /**
+     * Returns the configuration for the rating conditions.
+     *
+     * @return The configuration for the rating conditions.
+     */
+    public @NonNull RatingConfig getConfig() {
+        return mRules.mConfig;
+    }
+
+    /**
+     * Sets the configuration for the rating conditions.
+     *
+     * @param config The configuration to be set.
+     *
+     * @return The {@link RatingEngine} object to allow for chaining of calls to set methods.
+     */
+    public @NonNull RatingEngine setConfig(@NonNull RatingConfig config) {
+        this.mRules = new Rules(config, mRules.mConditions);
+        invalidateSchedule();
+
+        return this;
+    }
+
+    /**
+     * Sets the minimum no. of days to be passed.
+     *
+     * @param interval The interval to be set.
+     *
+     * @return The {@link RatingEngine} object to allow for chaining of calls to set methods.
+     */
+    public @NonNull RatingEngine setRateInterval(int interval) {
+        final Rules rules = mRules;
+        this.mRules = new Rules(rules.mConfig.withRateInterval(interval), rules.mConditions);
+        invalidateSchedule();
+
+        return this;
+    }
+
+    /**
+     * Sets the minimum no. of launch count to be reached.
+     *
+     * @param count The launch count to be set.
+     *
+     * @return The {@link RatingEngine} object to allow for chaining of calls to set methods.
+     */
+    public @NonNull RatingEngine setRateCount(int count) {
+        final Rules rules = mRules;
+        this.mRules = new Rules(rules.mConfig.withRateCount(count), rules.mConditions);
+        invalidateSchedule();
+
+        return this;
+    }
+
+    /**
+     * Sets the minimum no. of days to be passed after the last reminder.
+     *
+     * @param interval The interval to be set.
+     *
+     * @return The {@link RatingEngine} object to allow for chaining of calls to set methods.
+     */
+    public @NonNull RatingEngine setRemindInterval(int interval) {
+        final Rules rules = mRules;
+        this.mRules = new Rules(rules.mConfig.withRemindInterval(interval), rules.mConditions);
+        invalidateSchedule();
+
+        return this;
+    }
+
+    /**
+     * Checks whether the dynamic rating is initialized for the first time.
+     *
+     * @return {@code true} if the dynamic rating is initialized for the first time.
+     */
+    public boolean isFirstLaunch() {
+        return getFirstLaunch() == Rating.Value.FIRST_LAUNCH;
+    }
+
+    /**
+     * Checks whether the rating interval conditions are met.
+     *
+     * @return {@code true} if the rating interval conditions are met.
+     */
+    public boolean isDueRating() {
+        return isDueDate(getFirstLaunch(), mRules.mConfig.getRateInterval());
+    }
+
+    /**
+     * Checks whether the launch count conditions are met.
+     *
+     * @return {@code true} if the launch count conditions are met.
+     */
+    public boolean isDueCount() {
+        return getLaunchCount() >= mRules.mConfig.getRateCount();
+    }
+
+    /**
+     * Checks whether the rating reminder conditions are met.
+     *
+     * @return {@code true} if the reminder conditions are met.
+     */
+    public boolean isDueReminder() {
+        return isDueDate(getLastReminder(), mRules.mConfig.getRemindInterval());
+    }
+
+    /**
+     * Checks whether all the rating conditions are met.
+     *
+     * @return {@code true} if all the rating conditions are met.
+     *
+     * @see #setConditions(List)
+     */
+    public boolean shouldRate() {
+        final RatingMetrics metrics = mMetrics;
+        metrics.increment(Rating.Metric.SHOULD_RATE);
+
+        if (!metrics.isEnabled()) {
+            return isDue();
+        }
+
+        final long start = System.nanoTime();
+        final boolean due = isDue();
+        metrics.record(Rating.Latency.SHOULD_RATE, System.nanoTime() - start);
+
+        return due;
+    }
+
+    /**
+     * Checks whether all the rating conditions are met without recording the metrics.
+     *
+     * @return {@code true} if all the rating conditions are met.
+     */
+    private boolean isDue() {
+        if (!isInitialized()) {
+            return false;
+        }
+
+        return isDue(getSchedule());
+    }
+
+    /**
+     * Checks whether all the rating conditions are met for the supplied schedule.
+     *
+     * @param schedule The current rating state along with the derived deadlines.
+     *
+     * @return {@code true} if all the rating conditions are met.
+     */
+    private boolean isDue(@NonNull Schedule schedule) {
+        final RatingCondition[] conditions = mRules.mConditions;
+
+        if (conditions == null) {
+            return schedule.mState.isRequest() && schedule.mLaunchesRemaining == 0
+                    && mClock.currentTimeMillis() >= schedule.mNextEligibleAt;
+        }
+
+        return evaluate(schedule, conditions);
+    }
+
+    /**
+     * Evaluate the supplied rating conditions in order and stop at the first condition
+     * that is not met.
+     * <p>The results of the pure conditions will be reused for the same schedule.
+     *
+     * @param schedule The current rating state along with the derived deadlines.
+     * @param conditions The rating conditions sorted by their cost.
+     *
+     * @return {@code true} if all the rating conditions are met.
+     */
+    private boolean evaluate(@NonNull Schedule schedule,
+            @NonNull RatingCondition[] conditions) {
+        final Evaluation cached = mEvaluation.get();
+        long known = 0L;
+        long met = 0L;
+
+        if (cached != null && cached.mSchedule == schedule
+                && cached.mConditions == conditions) {
+            known = cached.mKnown;
+            met = cached.mMet;
+        }
+
+        final long previous = known;
+        boolean result = true;
+
+        for (int i = 0; i < conditions.length; i++) {
+            final long bit = i < Long.SIZE ? 1L << i : 0L;
+            final boolean conditionMet;
+
+            if ((known & bit) != 0) {
+                conditionMet = (met & bit) != 0;
+            } else {
+                conditionMet = conditions[i].isMet(this);
+
+                if (conditions[i].isPure()) {
+                    known |= bit;
+                    met = conditionMet ? met | bit : met;
+                }
+            }
+
+            if (!conditionMet) {
+                result = false;
+                break;
+            }
+        }
+
+        if (known != previous) {
+            mEvaluation.compareAndSet(cached,
+                    new Evaluation(schedule, conditions, known, met));
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the rating conditions in the order of evaluation.
+     *
+     * @return The rating conditions in the order of evaluation.
+     */
+    public @NonNull List<RatingCondition> getConditions() {
+        final RatingCondition[] conditions = mRules.mConditions;
+
+        return conditions != null ? Collections.unmodifiableList(Arrays.asList(conditions))
+                : RatingConditions.getDefaults();
+    }
+
+    /**
+     * Sets the rating conditions to be met to request the rating.
+     * <p>They will be sorted once by their cost, so the cheaper conditions are evaluated
+     * first and the evaluation stops at the first condition that is not met.
+     *
+     * @param conditions The rating conditions to be set, {@code null} to use the built-in
+     *                   conditions.
+     *
+     * @return The {@link RatingEngine} object to allow for chaining of calls to set methods.
+     *
+     * @see RatingConditions#withDefaults(RatingCondition...)
+     */
+    public @NonNull RatingEngine setConditions(@Nullable List<RatingCondition> conditions) {
+        this.mRules = new Rules(mRules.mConfig, sort(conditions));
+
+        invalidateConditions();
+        return this;
+    }
+
+    /**
+     * Returns the supplied rating conditions sorted by their cost.
+     *
+     * @param conditions The rating conditions to be sorted.
+     *
+     * @return The rating conditions sorted by their cost, {@code null} to use the built-in
+     *         conditions.
+     */
+    private static @Nullable RatingCondition[] sort(
+            @Nullable List<RatingCondition> conditions) {
+        if (conditions == null || conditions.equals(RatingConditions.getDefaults())) {
+            return null;
+        }
+
+        final List<RatingCondition> sorted = new ArrayList<>(conditions);
+        Collections.sort(sorted, new Comparator<RatingCondition>() {
+            @Override
+            public int compare(RatingCondition o1, RatingCondition o2) {
+                return Integer.compare(o1.getCost(), o2.getCost());
+            }
+        });
+
+        return sorted.toArray(new RatingCondition[0]);
+    }
+
+    /**
+     * Sets the compiled rating rules to replace the configuration and the rating conditions.
+     * <p>Both of them are replaced in a single step, so the rating conditions are never
+     * evaluated with a mix of the previous and the new rules.
+     *
+     * @param rules The rating rules to be set.
+     *
+     * @return The {@link RatingEngine} object to allow for chaining of calls to set methods.
+     *
+     * @see #setConfig(RatingConfig)
+     * @see #setConditions(List)
+     */
+    public @NonNull RatingEngine setRules(@NonNull RatingRules rules) {
+        this.mRules = new Rules(rules.getConfig(), sort(rules.getConditions()));
+
+        invalidateSchedule();
+        invalidateConditions();
+        return this;
+    }
+
+    /**
+     * Invalidate the cached results of the pure rating conditions.
+     * <p>It should be called if the data used by a custom pure condition has been changed.
+     */
+    public void invalidateConditions() {
+        mEvaluation.set(null);
+        onScheduleChanged();
+    }
+
+    /**
+     * Returns whether all the rating conditions are met.
+     * <p>It will return the cached result while there are eligibility listeners, so it
+     * does not touch the store or evaluate the conditions again.
+     *
+     * @return {@code true} if all the rating conditions are met.
+     *
+     * @see #addOnEligibilityChangedListener(OnEligibilityChangedListener)
+     */
+    public boolean isEligible() {
+        final int eligibility = mEligibility.get();
+
+        if (eligibility == ELIGIBILITY_UNKNOWN || mEligibilityListeners.isEmpty()) {
+            return checkEligibility();
+        }
+
+        return eligibility == ELIGIBILITY_DUE;
+    }
+
+    /**
+     * Evaluate the rating conditions and notify the listeners if the eligibility has been
+     * changed.
+     * <p>It should be called once the eligibility deadline has passed.
+     *
+     * @return {@code true} if all the rating conditions are met.
+     *
+     * @see OnDeadlineChangedListener
+     */
+    public boolean checkEligibility() {
+        final Schedule schedule = getSchedule();
+        final boolean eligible = isDue(schedule);
+        final int previous = mEligibility.getAndSet(eligible
+                ? ELIGIBILITY_DUE : ELIGIBILITY_NONE);
+
+        if (previous != ELIGIBILITY_UNKNOWN
+                && previous != (eligible ? ELIGIBILITY_DUE : ELIGIBILITY_NONE)) {
+            for (OnEligibilityChangedListener listener : mEligibilityListeners) {
+                listener.onEligibilityChanged(eligible);
+            }
+        }
+
+        final long deadline = eligible || !schedule.mState.isRequest()
+                || schedule.mLaunchesRemaining > 0 ? Long.MAX_VALUE : schedule.mNextEligibleAt;
+        final OnDeadlineChangedListener deadlineListener = mDeadlineListener;
+
+        if (mDeadline.getAndSet(deadline) != deadline && deadlineListener != null) {
+            deadlineListener.onDeadlineChanged(deadline);
+        }
+
+        return eligible;
+    }
+
+    /**
+     * Check the eligibility again after a change in the rating state or conditions.
+     */
+    private void onScheduleChanged() {
+        if (mEligibilityListeners.isEmpty()) {
+            mEligibility.set(ELIGIBILITY_UNKNOWN);
+        } else {
+            checkEligibility();
+        }
+    }
+
+    /**
+     * Add a listener to be notified when the eligibility is changed.
+     * <p>It will be called immediately with the current eligibility and then only when it
+     * is changed by a change in the rating state, the rating conditions or the deadline.
+     * It will be called on the thread that caused the change.
+     *
+     * @param listener The listener to be added.
+     *
+     * @return The {@link RatingEngine} object to allow for chaining of calls to set methods.
+     */
+    public @NonNull RatingEngine addOnEligibilityChangedListener(
+            @NonNull OnEligibilityChangedListener listener) {
+        final boolean first = mEligibilityListeners.isEmpty();
+        mEligibilityListeners.addIfAbsent(listener);
+
+        listener.onEligibilityChanged(first ? checkEligibility() : isEligible());
+        return this;
+    }
+
+    /**
+     * Remove a listener to stop notifying it when the eligibility is changed.
+     *
+     * @param listener The listener to be removed.
+     *
+     * @return The {@link RatingEngine} object to allow for chaining of calls to set methods.
+     */
+    public @NonNull RatingEngine removeOnEligibilityChangedListener(
+            @NonNull OnEligibilityChangedListener listener) {
+        mEligibilityListeners.remove(listener);
+
+        return this;
+    }
+
+    /**
+     * Sets the listener to be notified when the eligibility deadline is changed.
+     * <p>It can be used to schedule a single timer to call {@link #checkEligibility()}
+     * instead of checking it repeatedly.
+     *
+     * @param listener The listener to be set, {@code null} to remove it.
+     *
+     * @return The {@link RatingEngine} object to allow for chaining of calls to set methods.
+     */
+    public @NonNull RatingEngine setOnDeadlineChangedListener(
+            @Nullable OnDeadlineChangedListener listener) {
+        this.mDeadlineListener = listener;
+
+        if (listener != null) {
+            listener.onDeadlineChanged(mDeadline.get());
+        }
+
+        return this;
+    }
+
+    /**
+     * Checks whether the rating conditions will be met within the supplied no. of days
+     * and the next launch.
+     * <p>It can be used to prepare the rating request ahead of time.
+     *
+     * @param days The no. of days to be checked.
+     *
+     * @return {@code true} if the rating conditions will be met within the supplied no. of
+     *         days and the next launch.
+     */
+    public boolean isDueWithin(int days) {
+        final Schedule schedule = getSchedule();
+
+        return schedule.mState.isRequest() && schedule.mLaunchesRemaining <= 1
+                && schedule.mNextEligibleAt - mClock.currentTimeMillis() <= toMillis(days);
+    }
+
+    /**
+     * Returns the time after which the rating interval and reminder conditions will be met.
+     * <p>It can be used to schedule the rating request instead of checking it repeatedly.
+     *
+     * @return The time after which the rating interval and reminder conditions will be met,
+     *         or {@link Long#MAX_VALUE} if the rating is not requested.
+     *
+     * @see #getLaunchesRemaining()
+     */
+    public long getNextEligibleTime() {
+        final Schedule schedule = getSchedule();
+
+        return schedule.mState.isRequest() ? schedule.mNextEligibleAt : Long.MAX_VALUE;
+    }
+
+    /**
+     * Returns the no. of launches remaining to meet the launch count condition.
+     *
+     * @return The no. of launches remaining to meet the launch count condition.
+     */
+    public int getLaunchesRemaining() {
+        return getSchedule().mLaunchesRemaining;
+    }
+
+    /**
+     * Returns the key concatenated with the base key.
+     *
+     * @param key The key to be concatenated.
+     *
+     * @return The key concatenated with the base key.
+     */
+    public @NonNull String getKey(@NonNull String key) {
+        return getBaseKey() + key;
+    }
+
+    /**
+     * Set the reminder conditions for the next launch.
+     *
+     * @param remind {@code true} if to set the reminder.
+     */
+    public void setReminder(boolean remind) {
+        final Editor editor = edit()
+                .setRequest(remind)
+                .setLastReminder(mClock.currentTimeMillis())
+                .resetLaunchCount();
+
+        if (!remind) {
+            editor.resetLastReminder();
+        }
+
+        editor.apply();
+    }
+
+    /**
+     * Log a significant event of the supplied type at the current time.
+     * <p>Only the latest {@link Rating.Default#EVENT_CAPACITY} timestamps will be kept for
+     * each type and they will be persisted under a single key.
+     *
+     * @param type The type of the event to be logged.
+     *
+     * @see #getEventCount(String, int)
+     */
+    public void logEvent(@NonNull String type) {
+        final Events events = getEvents(type);
+        final RatingStore store = mStore;
+
+        store.lock();
+        try {
+            synchronized (events) {
+                if (store.isMultiProcess()) {
+                    events.load(store);
+                }
+
+                events.mBuffer.add(mClock.currentTimeMillis());
+                store.putString(events.mKey, events.mBuffer.pack());
+                events.mVersion = store.getVersion();
+            }
+        } finally {
+            store.unlock();
+        }
+
+        onScheduleChanged();
+    }
+
+    /**
+     * Returns the no. of events of the supplied type logged within the supplied no. of days.
+     *
+     * @param type The type of the events to be counted.
+     * @param windowDays The no. of days to be checked.
+     *
+     * @return The no. of events of the supplied type logged within the supplied no. of days.
+     */
+    public int getEventCount(@NonNull String type, int windowDays) {
+        final long time = mClock.currentTimeMillis();
+
+        return getEvents(type).mBuffer.count(time - toMillis(windowDays), time);
+    }
+
+    /**
+     * Remove all the logged events of the supplied type.
+     *
+     * @param type The type of the events to be removed.
+     */
+    public void clearEvents(@NonNull String type) {
+        final Events events = getEvents(type);
+        final RatingStore store = mStore;
+
+        store.lock();
+        try {
+            synchronized (events) {
+                events.mBuffer.clear();
+                store.delete(events.mKey);
+                events.mVersion = store.getVersion();
+            }
+        } finally {
+            store.unlock();
+        }
+
+        onScheduleChanged();
+    }
+
+    /**
+     * Returns the ring buffer along with its key for the supplied event type.
+     * <p>It will be loaded from the store if not available or if it has been modified by
+     * another process.
+     *
+     * @param type The type of the events.
+     *
+     * @return The ring buffer along with its key for the supplied event type.
+     */
+    private @NonNull Events getEvents(@NonNull String type) {
+        final RatingStore store = mStore;
+        Events events = mEvents.get(type);
+
+        if (events == null) {
+            final Events loaded = new Events(getKey(Rating.Key.EVENT + type));
+            loaded.load(store);
+
+            events = mEvents.putIfAbsent(type, loaded);
+            if (events == null) {
+                events = loaded;
+            }
+        } else if (store.isMultiProcess() && events.mVersion != store.getVersion()) {
+            synchronized (events) {
+                if (events.mVersion != store.getVersion()) {
+                    events.load(store);
+                }
+            }
+        }
+
+        return events;
+    }
+
+    /**
+     * Returns an editor to modify the rating state in a single transaction.
+     * <p>All the changes will be persisted together on calling {@link Editor#apply()}.
+     *
+     * @return The editor to modify the rating state.
+     */
+    public @NonNull Editor edit() {
+        return new Editor();
+    }
+
+    /**
+     * Returns the first launch date in milliseconds.
+     *
+     * @return The first launch date in milliseconds.
+     */
+    private long getFirstLaunch() {
+        return getState().getFirstLaunch();
+    }
+
+    /**
+     * Returns the last launch date in milliseconds.
+     *
+     * @return The last launch date in milliseconds.
+     */
+    private long getLastLaunch() {
+        return getState().getLastLaunch();
+    }
+
+    /**
+     * Returns the last reminder date in milliseconds.
+     *
+     * @return The last reminder date in milliseconds.
+     */
+    private long getLastReminder() {
+        return getState().getLastReminder();
+    }
+
+    /**
+     * Returns the total launch count.
+     *
+     * @return The total launch count.
+     */
+    private int getLaunchCount() {
+        return getState().getLaunchCount();
+    }
+
+    /**
+     * Checks whether to request for the rating.
+     *
+     * @return {@code true} if request for the rating.
+     */
+    private boolean isRequest() {
+        return getState().isRequest();
+    }
+
+    /**
+     * An editor to modify the rating state in a single transaction.
+     * <p>The changes will be applied atomically to the latest in-memory snapshot and
+     * persisted to the store together on calling {@link #apply()}.
+     */
+    public final class Editor {
+
+        /**
+         * Fields modified by this editor.
+         */
+        private int mFields;
+
+        /**
+         * First launch date to be set.
+         */
+        private long mFirstLaunch;
+
+        /**
+         * Last launch date to be set.
+         */
+        private long mLastLaunch;
+
+        /**
+         * Last reminder date to be set.
+         */
+        private long mLastReminder;
+
+        /**
+         * Launch count to be set.
+         */
+        private int mLaunchCount;
+
+        /**
+         * Rating request to be set.
+         */
+        private boolean mRequest;
+
+        /**
+         * Constructor to initialize an object of this class.
+         */
+        private Editor() { }
+
+        /**
+         * Set the first launch date in milliseconds.
+         *
+         * @param millis The date to be set.
+         *
+         * @return The {@link Editor} object to allow for chaining of calls to set methods.
+         */
+        public @NonNull Editor setFirstLaunch(long millis) {
+            mFirstLaunch = millis;
+            mFields |= FIELD_FIRST_LAUNCH;
+
+            return this;
+        }
+
+        /**
+         * Set the last launch date in milliseconds.
+         *
+         * @param millis The date to be set.
+         *
+         * @return The {@link Editor} object to allow for chaining of calls to set methods.
+         */
+        public @NonNull Editor setLastLaunch(long millis) {
+            mLastLaunch = millis;
+            mFields |= FIELD_LAST_LAUNCH;
+
+            return this;
+        }
+
+        /**
+         * Set the last reminder date in milliseconds.
+         *
+         * @param millis The date to be set.
+         *
+         * @return The {@link Editor} object to allow for chaining of calls to set methods.
+         */
+        public @NonNull Editor setLastReminder(long millis) {
+            mLastReminder = millis;
+            mFields |= FIELD_LAST_REMINDER;
+
+            return this;
+        }
+
+        /**
+         * Reset the last reminder date to its default value.
+         *
+         * @return The {@link Editor} object to allow for chaining of calls to set methods.
+         */
+        public @NonNull Editor resetLastReminder() {
+            return setLastReminder(Rating.Value.LAST_REMINDER);
+        }
+
+        /**
+         * Set the total launch count.
+         *
+         * @param count The count to be set.
+         *
+         * @return The {@link Editor} object to allow for chaining of calls to set methods.
+         */
+        public @NonNull Editor setLaunchCount(int count) {
+            mLaunchCount = count;
+            mFields |= FIELD_LAUNCH_COUNT;
+
+            return this;
+        }
+
+        /**
+         * Reset the total launch count to its default value.
+         *
+         * @return The {@link Editor} object to allow for chaining of calls to set methods.
+         */
+        public @NonNull Editor resetLaunchCount() {
+            return setLaunchCount(Rating.Value.LAUNCH_COUNT);
+        }
+
+        /**
+         * Set whether to request for the rating.
+         *
+         * @param request {@code true} to request for the rating.
+         *
+         * @return The {@link Editor} object to allow for chaining of calls to set methods.
+         */
+        public @NonNull Editor setRequest(boolean request) {
+            mRequest = request;
+            mFields |= FIELD_IS_REQUEST;
+
+            return this;
+        }
+
+        /**
+         * Apply the changes to the supplied rating state.
+         *
+         * @param state The rating state to be modified.
+         *
+         * @return The modified rating state.
+         */
+        private @NonNull RatingState applyTo(@NonNull RatingState state) {
+            return new RatingState(
+                    (mFields & FIELD_FIRST_LAUNCH) != 0 ? mFirstLaunch : state.getFirstLaunch(),
+                    (mFields & FIELD_LAST_LAUNCH) != 0 ? mLastLaunch : state.getLastLaunch(),
+                    (mFields & FIELD_LAST_REMINDER) != 0
+                            ? mLastReminder : state.getLastReminder(),
+                    (mFields & FIELD_LAUNCH_COUNT) != 0 ? mLaunchCount : state.getLaunchCount(),
+                    (mFields & FIELD_IS_REQUEST) != 0 ? mRequest : state.isRequest());
+        }
+
+        /**
+         * Apply all the changes to the in-memory snapshot and persist them in a single commit.
+         */
+        public void apply() {
+            if (mFields == 0) {
+                return;
+            }
+
+            final RatingStore store = mStore;
+
+            if (store.isMultiProcess()) {
+                store.lock();
+                try {
+                    commit(store, mFields, applyTo(load()));
+                } finally {
+                    store.unlock();
+                }
+
+                mFields = 0;
+                onScheduleChanged();
+                return;
+            }
+
+            Schedule current;
+            do {
+                current = getSchedule();
+            } while (!mSchedule.compareAndSet(current,
+                    new Schedule(applyTo(current.mState), mRules.mConfig)));
+
+            flush(mFields);
+            mFields = 0;
+            onScheduleChanged();
+        }
+    }
+
+    /**
+     * Interface to get the callback when the eligibility is changed.
+     */
+    public interface OnEligibilityChangedListener {
+
+        /**
+         * This method will be called when the eligibility is changed.
+         *
+         * @param eligible {@code true} if all the rating conditions are met.
+         */
+        void onEligibilityChanged(boolean eligible);
+    }
+
+    /**
+     * Interface to get the callback when the eligibility deadline is changed.
+     */
+    public interface OnDeadlineChangedListener {
+
+        /**
+         * This method will be called when the eligibility deadline is changed.
+         *
+         * @param time The time after which the eligibility should be checked again,
+         *             or {@link Long#MAX_VALUE} if it will not change without any other
+         *             change.
+         */
+        void onDeadlineChanged(long time);
+    }
+
+    /**
+     * Holder for the configuration along with the rating conditions.
+     */
+    private static final class Rules {
+
+        /**
+         * Configuration for the rating conditions.
+         */
+        private final RatingConfig mConfig;
+
+        /**
+         * Rating conditions sorted by their cost, {@code null} to use the built-in conditions.
+         */
+        private final RatingCondition[] mConditions;
+
+        /**
+         * Constructor to initialize an object of this class.
+         *
+         * @param config The configuration for the rating conditions.
+         * @param conditions The rating conditions sorted by their cost, {@code null} to use
+         *                   the built-in conditions.
+         */
+        Rules(@NonNull RatingConfig config, @Nullable RatingCondition[] conditions) {
+            this.mConfig = config;
+            this.mConditions = conditions;
+        }
+    }
+
+    /**
+     * Holder for the rating state along with the deadlines derived from the rating conditions.
+     */
+    private static final class Schedule {
+
+        /**
+         * Rating state used to derive the deadlines.
+         */
+        private final RatingState mState;
+
+        /**
+         * Time after which the rating interval and reminder conditions will be met.
+         */
+        private final long mNextEligibleAt;
+
+        /**
+         * No. of launches remaining to meet the launch count condition.
+         */
+        private final int mLaunchesRemaining;
+
+        /**
+         * Constructor to initialize an object of this class.
+         *
+         * @param state The rating state to derive the deadlines.
+         * @param config The configuration for the rating conditions.
+         */
+        Schedule(@NonNull RatingState state, @NonNull RatingConfig config) {
+            this.mState = state;
+            this.mNextEligibleAt = Math.max(
+                    state.getFirstLaunch() + toMillis(config.getRateInterval()),
+                    state.getLastReminder() + toMillis(config.getRemindInterval()));
+            this.mLaunchesRemaining = Math.max(0,
+                    config.getRateCount() - state.getLaunchCount());
+        }
+    }
+
+    /**
+     * Holder for the cached results of the pure rating conditions.
+     */
+    private static final class Evaluation {
+
+        /**
+         * Schedule used to evaluate the rating conditions.
+         */
+        private final Schedule mSchedule;
+
+        /**
+         * Rating conditions that have been evaluated.
+         */
+        private final RatingCondition[] mConditions;
+
+        /**
+         * Bitmask of the pure conditions with a cached result.
+         */
+        private final long mKnown;
+
+        /**
+         * Bitmask of the pure conditions that are met.
+         */
+        private final long mMet;
+
+        /**
+         * Constructor to initialize an object of this class.
+         *
+         * @param schedule The schedule used to evaluate the rating conditions.
+         * @param conditions The rating conditions that have been evaluated.
+         * @param known The bitmask of the pure conditions with a cached result.
+         * @param met The bitmask of the pure conditions that are met.
+         */
+        Evaluation(@NonNull Schedule schedule, @NonNull RatingCondition[] conditions,
+                long known, long met) {
+            this.mSchedule = schedule;
+            this.mConditions = conditions;
+            this.mKnown = known;
+            this.mMet = met;
+        }
+    }
+
+    /**
+     * Holder for the ring buffer of an event type along with its key.
+     */
+    private static final class Events {
+
+        /**
+         * Key to persist the timestamps.
+         */
+        private final String mKey;
+
+        /**
+         * Ring buffer of the timestamps.
+         */
+        private final EventBuffer mBuffer;
+
+        /**
+         * Version of the store from which the timestamps have been loaded.
+         */
+        private volatile long mVersion;
+
+        /**
+         * Constructor to initialize an object of this class.
+         *
+         * @param key The key to persist the timestamps.
+         */
+        Events(@NonNull String key) {
+            this.mKey = key;
+            this.mBuffer = new EventBuffer(Rating.Default.EVENT_CAPACITY);
+        }
+
+        /**
+         * Load the timestamps from the supplied store.
+         *
+         * @param store The store to load the timestamps.
+         */
+        void load(@NonNull RatingStore store) {
+            mVersion = store.getVersion();
+            mBuffer.unpack(store.getString(mKey, null));
+        }
+    }
+
+    /**
+     * Holder for the keys concatenated with a base key.
+     */
+    private static final class Keys {
+
+        /**
+         * Key for the first launch date.
+         */
+        private final String mFirstLaunch;
+
+        /**
+         * Key for the last launch date.
+         */
+        private final String mLastLaunch;
+
+        /**
+         * Key for the last reminder date.
+         */
+        private final String mLastReminder;
+
+        /**
+         * Key for the launch count.
+         */
+        private final String mLaunchCount;
+
+        /**
+         * Key for the rating request.
+         */
+        private final String mRequest;
+
+        /**
+         * Constructor to initialize an object of this class.
+         *
+         * @param baseKey The base key to be concatenated.
+         */
+        Keys(@NonNull String baseKey) {
+            this.mFirstLaunch = baseKey + Rating.Key.FIRST_LAUNCH;
+            this.mLastLaunch = baseKey + Rating.Key.LAST_LAUNCH;
+            this.mLastReminder = baseKey + Rating.Key.LAST_REMINDER;
+            this.mLaunchCount = baseKey + Rating.Key.LAUNCH_COUNT;
+            this.mRequest = baseKey + Rating.Key.IS_REQUEST;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2022 Pranav Pandey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.pranavpandey.android.dynamic.rating.event;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * A fixed-size ring buffer of the timestamps for an event type.
+ * <p>The oldest timestamp will be overwritten once the buffer is full, so the memory stays
+ * bounded regardless of the no. of events logged. It can be packed into a compact string
+ * of fixed-width hexadecimal values to persist it under a single key.
+ */
+public class EventBuffer {
+
+    /**
+     * No. of hexadecimal characters to pack a timestamp.
+     */
+    private static final int PACKED_LENGTH = 16;
+
+    /**
+     * Timestamps of the logged events.
+     */
+    private final long[] mTimes;
+
+    /**
+     * Index to write the next timestamp.
+     */
+    private int mHead;
+
+    /**
+     * No. of timestamps in this buffer.
+     */
+    private int mSize;
+
+    /**
+     * Constructor to initialize an object of this class.
+     *
+     * @param capacity The maximum no. of timestamps to be kept.
+     */
+    public EventBuffer(int capacity) {
+        this.mTimes = new long[Math.max(1, capacity)];
+    }
+
+    /**
+     * Returns the maximum no. of timestamps kept by this buffer.
+     *
+     * @return The maximum no. of timestamps kept by this buffer.
+     */
+    public int getCapacity() {
+        return mTimes.length;
+    }
+
+    /**
+     * Returns the no. of timestamps in this buffer.
+     *
+     * @return The no. of timestamps in this buffer.
+     */
+    public synchronized int size() {
+        return mSize;
+    }
+
+    /**
+     * Add a timestamp to this buffer and overwrite the oldest one if it is full.
+     *
+     * @param time The timestamp to be added.
+     */
+    public synchronized void add(long time) {
+        mTimes[mHead] = time;
+        mHead = (mHead + 1) % mTimes.length;
+
+        if (mSize < mTimes.length) {
+            mSize++;
+        }
+    }
+
+    /**
+     * Returns the no. of timestamps within the supplied range.
+     *
+     * @param from The start of the range, inclusive.
+     * @param to The end of the range, inclusive.
+     *
+     * @return The no. of timestamps within the supplied range.
+     */
+    public synchronized int count(long from, long to) {
+        int count = 0;
+
+        for (int i = 0; i < mSize; i++) {
+            final long time = mTimes[i];
+
+            if (time >= from && time <= to) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Remove all the timestamps from this buffer.
+     */
+    public synchronized void clear() {
+        mHead = 0;
+        mSize = 0;
+    }
+
+    /**
+     * Pack the timestamps from the oldest to the newest into a string.
+     *
+     * @return The string with the packed timestamps.
+     */
+    public synchronized @NonNull String pack() {
+        final char[] packed = new char[mSize * PACKED_LENGTH];
+        final int start = (mHead - mSize + mTimes.length) % mTimes.length;
+
+        for (int i = 0; i < mSize; i++) {
+            long time = mTimes[(start + i) % mTimes.length];
+
+            for (int j = PACKED_LENGTH - 1; j >= 0; j--) {
+                packed[i * PACKED_LENGTH + j] = Character.forDigit((int) (time & 0xF), 16);
+                time >>>= 4;
+            }
+        }
+
+        return new String(packed);
+    }
+
+    /**
+     * Unpack the timestamps from the supplied string into this buffer.
+     * <p>Only the newest timestamps will be kept if there are more than its capacity and
+     * the malformed values will be ignored.
+     *
+     * @param packed The string with the packed timestamps.
+     */
+    public synchronized void unpack(@Nullable String packed) {
+        clear();
+
+        if (packed == null) {
+            return;
+        }
+
+        for (int i = 0; i + PACKED_LENGTH <= packed.length(); i += PACKED_LENGTH) {
+            long time = 0L;
+            boolean valid = true;
+
+            for (int j = i; j < i + PACKED_LENGTH; j++) {
+                final int digit = Character.digit(packed.charAt(j), 16);
+
+                if (digit < 0) {
+                    valid = false;
+                    break;
+                }
+
+                time = (time << 4) | digit;
+            }
+
+            if (valid) {
+                add(time);
+            }
+        }
+    }
+}
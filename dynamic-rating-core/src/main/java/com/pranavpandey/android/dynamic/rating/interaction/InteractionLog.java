@@ -0,0 +1,500 @@
+/*
+ * Copyright 2022 Pranav Pandey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.pranavpandey.android.dynamic.rating.interaction;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.pranavpandey.android.dynamic.rating.Rating;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+
+/**
+ * A bounded on-disk log of the {@link RatingInteraction} records.
+ * <p>The records are appended to an in-memory buffer and written to the file in batches on
+ * the supplied executor, either when the buffer is full or when an outcome other than
+ * {@link Rating.Interaction#CHANGED} is appended. The file is rotated once it reaches half of
+ * the maximum size, so the log never occupies more than the maximum size on disk and the
+ * oldest records are discarded first.
+ * <p>The records can be streamed via {@link #read()} or {@link #drain()} without loading the
+ * whole log into memory.
+ */
+public class InteractionLog {
+
+    /**
+     * Suffix for the rotated file.
+     */
+    private static final String SUFFIX_ROTATED = ".1";
+
+    /**
+     * Suffix for the drained file.
+     */
+    private static final String SUFFIX_DRAINED = ".drain";
+
+    /**
+     * File to write the latest records.
+     */
+    private final File mFile;
+
+    /**
+     * File to keep the older records after rotation.
+     */
+    private final File mRotated;
+
+    /**
+     * File to keep the drained records until they are deleted.
+     */
+    private final File mDrained;
+
+    /**
+     * Maximum size in bytes of the log.
+     */
+    private final long mMaxSize;
+
+    /**
+     * Executor to write the records in the background.
+     */
+    private final Executor mExecutor;
+
+    /**
+     * Buffer to hold the records before writing them to the file.
+     */
+    private final ByteBuffer mBuffer;
+
+    /**
+     * Batches of the records waiting to be written to the file.
+     */
+    private final Queue<byte[]> mPending;
+
+    /**
+     * Lock to serialize the access to the files.
+     */
+    private final Object mFileLock;
+
+    /**
+     * Runnable to write the pending batches to the file.
+     */
+    private final Runnable mWriteRunnable = new Runnable() {
+        @Override
+        public void run() {
+            writePending();
+        }
+    };
+
+    /**
+     * Constructor to initialize an object of this class with the default size.
+     *
+     * @param file The file to write the records.
+     * @param executor The executor to write the records in the background.
+     *
+     * @see Rating.Default#INTERACTION_LOG_SIZE
+     */
+    public InteractionLog(@NonNull File file, @NonNull Executor executor) {
+        this(file, Rating.Default.INTERACTION_LOG_SIZE,
+                Rating.Default.INTERACTION_BUFFER, executor);
+    }
+
+    /**
+     * Constructor to initialize an object of this class.
+     *
+     * @param file The file to write the records.
+     * @param maxSize The maximum size in bytes of the log.
+     * @param capacity The no. of records to be buffered in memory.
+     * @param executor The executor to write the records in the background.
+     */
+    public InteractionLog(@NonNull File file, long maxSize,
+            int capacity, @NonNull Executor executor) {
+        this.mFile = file;
+        this.mRotated = new File(file.getPath() + SUFFIX_ROTATED);
+        this.mDrained = new File(file.getPath() + SUFFIX_DRAINED);
+        this.mMaxSize = Math.max(RatingInteraction.SIZE * 2L, maxSize);
+        this.mExecutor = executor;
+        this.mBuffer = ByteBuffer.allocate(Math.max(1, capacity) * RatingInteraction.SIZE);
+        this.mPending = new ConcurrentLinkedQueue<>();
+        this.mFileLock = new Object();
+    }
+
+    /**
+     * Returns the file to write the latest records.
+     *
+     * @return The file to write the latest records.
+     */
+    public @NonNull File getFile() {
+        return mFile;
+    }
+
+    /**
+     * Returns the maximum size in bytes of the log.
+     *
+     * @return The maximum size in bytes of the log.
+     */
+    public long getMaxSize() {
+        return mMaxSize;
+    }
+
+    /**
+     * Append an interaction to this log.
+     * <p>It only writes into the memory and is safe to be called from the main thread.
+     *
+     * @param time The time of the interaction in milliseconds.
+     * @param type The type of the interaction.
+     * @param rating The rating selected in the dialog.
+     * @param campaign The hash of the campaign for the interaction.
+     *
+     * @see Rating.Interaction
+     * @see RatingInteraction#getCampaignId(String)
+     */
+    public void append(long time, int type, float rating, int campaign) {
+        final boolean flush;
+
+        synchronized (mBuffer) {
+            RatingInteraction.write(mBuffer, time, type, rating, campaign);
+
+            flush = !mBuffer.hasRemaining() || type != Rating.Interaction.CHANGED;
+            if (flush) {
+                enqueue();
+            }
+        }
+
+        if (flush) {
+            mExecutor.execute(mWriteRunnable);
+        }
+    }
+
+    /**
+     * Move the buffered records to the pending batches.
+     * <p>It must be called while holding the lock of the buffer.
+     */
+    private void enqueue() {
+        if (mBuffer.position() == 0) {
+            return;
+        }
+
+        final byte[] batch = new byte[mBuffer.position()];
+        mBuffer.flip();
+        mBuffer.get(batch);
+        mBuffer.clear();
+
+        mPending.offer(batch);
+    }
+
+    /**
+     * Write the buffered records to the file on the calling thread.
+     */
+    public void flush() {
+        synchronized (mBuffer) {
+            enqueue();
+        }
+
+        writePending();
+    }
+
+    /**
+     * Write the pending batches to the file in the order they were appended.
+     */
+    private void writePending() {
+        synchronized (mFileLock) {
+            byte[] batch;
+
+            while ((batch = mPending.poll()) != null) {
+                try {
+                    write(batch);
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
+    /**
+     * Write a batch of records to the file and rotate it if required.
+     * <p>A partially written record at the end of the file will be discarded.
+     *
+     * @param batch The batch of records to be written.
+     *
+     * @throws IOException If the file cannot be written.
+     */
+    private void write(@NonNull byte[] batch) throws IOException {
+        final File parent = mFile.getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()
+                && !parent.isDirectory()) {
+            throw new IOException("Cannot create the directory: " + parent);
+        }
+
+        long length = mFile.length();
+        length -= length % RatingInteraction.SIZE;
+
+        if (length > 0 && length + batch.length > mMaxSize / 2) {
+            discard(mRotated);
+            if (!mFile.renameTo(mRotated)) {
+                discard(mFile);
+            }
+
+            length = 0;
+        }
+
+        final RandomAccessFile file = new RandomAccessFile(mFile, "rw");
+        try {
+            file.setLength(length);
+            file.seek(length);
+            file.write(batch);
+        } finally {
+            file.close();
+        }
+    }
+
+    /**
+     * Returns a reader to stream all the records of this log, from the oldest to the latest.
+     * <p>The buffered records will be written to the file before reading, so it should be
+     * called from a background thread.
+     *
+     * @return The reader to stream all the records of this log.
+     */
+    public @NonNull Reader read() {
+        flush();
+
+        synchronized (mFileLock) {
+            return new Reader(null, mDrained, mRotated, mFile);
+        }
+    }
+
+    /**
+     * Move all the records of this log to a separate file and return a reader to stream them.
+     * <p>The drained records will be returned again by the next drain until they are deleted
+     * via {@link Reader#delete()}, so they can be retried if the upload fails. They will be
+     * discarded if the log would exceed the maximum size.
+     * <p>It should be called from a background thread and there should be a single drain
+     * at a time.
+     *
+     * @return The reader to stream the drained records.
+     */
+    public @NonNull Reader drain() {
+        flush();
+
+        synchronized (mFileLock) {
+            try {
+                if (mDrained.length() + mRotated.length() + mFile.length() > mMaxSize) {
+                    discard(mDrained);
+                }
+
+                final OutputStream out = new FileOutputStream(mDrained, true);
+                try {
+                    copy(mRotated, out);
+                    copy(mFile, out);
+                } finally {
+                    out.close();
+                }
+
+                discard(mRotated);
+                discard(mFile);
+            } catch (IOException ignored) {
+            }
+
+            return new Reader(this, mDrained);
+        }
+    }
+
+    /**
+     * Copy the complete records of the supplied file into the output stream.
+     *
+     * @param file The file to be copied.
+     * @param out The output stream to copy the file.
+     *
+     * @throws IOException If the file cannot be copied.
+     */
+    private static void copy(@NonNull File file, @NonNull OutputStream out) throws IOException {
+        if (!file.exists()) {
+            return;
+        }
+
+        long remaining = file.length() - file.length() % RatingInteraction.SIZE;
+        final byte[] bytes = new byte[RatingInteraction.SIZE * Rating.Default.INTERACTION_BUFFER];
+        final InputStream in = new FileInputStream(file);
+
+        try {
+            int read;
+            while (remaining > 0 && (read = in.read(bytes, 0,
+                    (int) Math.min(bytes.length, remaining))) != -1) {
+                out.write(bytes, 0, read);
+                remaining -= read;
+            }
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Delete the supplied file or truncate it if it cannot be deleted, so its records are
+     * never read again.
+     *
+     * @param file The file to be discarded.
+     *
+     * @throws IOException If the file can neither be deleted nor truncated.
+     */
+    private static void discard(@NonNull File file) throws IOException {
+        if (!file.exists() || file.delete()) {
+            return;
+        }
+
+        final RandomAccessFile out = new RandomAccessFile(file, "rw");
+        try {
+            out.setLength(0);
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Delete all the records of this log including the buffered ones.
+     */
+    public void clear() {
+        synchronized (mBuffer) {
+            mBuffer.clear();
+        }
+
+        synchronized (mFileLock) {
+            mPending.clear();
+
+            try {
+                discard(mDrained);
+                discard(mRotated);
+                discard(mFile);
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    /**
+     * A reader to stream the records of the log one by one.
+     */
+    public static class Reader implements Closeable {
+
+        /**
+         * Log to delete the drained records, {@code null} if not draining.
+         */
+        private final InteractionLog mLog;
+
+        /**
+         * Files to be read in order.
+         */
+        private final File[] mFiles;
+
+        /**
+         * Buffer to read a record.
+         */
+        private final byte[] mRecord;
+
+        /**
+         * Index of the file being read.
+         */
+        private int mIndex;
+
+        /**
+         * Stream of the file being read.
+         */
+        private DataInputStream mStream;
+
+        /**
+         * Constructor to initialize an object of this class.
+         *
+         * @param log The log to delete the drained records, {@code null} if not draining.
+         * @param files The files to be read in order.
+         */
+        Reader(@Nullable InteractionLog log, @NonNull File... files) {
+            this.mLog = log;
+            this.mFiles = files;
+            this.mRecord = new byte[RatingInteraction.SIZE];
+        }
+
+        /**
+         * Returns the next record of the log.
+         *
+         * @return The next record of the log, {@code null} if there are no more records.
+         *
+         * @throws IOException If the log cannot be read.
+         */
+        public @Nullable RatingInteraction next() throws IOException {
+            while (true) {
+                if (mStream == null) {
+                    if (mIndex >= mFiles.length) {
+                        return null;
+                    }
+
+                    final File file = mFiles[mIndex++];
+                    if (!file.exists()) {
+                        continue;
+                    }
+
+                    mStream = new DataInputStream(new BufferedInputStream(
+                            new FileInputStream(file)));
+                }
+
+                try {
+                    mStream.readFully(mRecord);
+
+                    return RatingInteraction.read(ByteBuffer.wrap(mRecord));
+                } catch (EOFException e) {
+                    mStream.close();
+                    mStream = null;
+                }
+            }
+        }
+
+        /**
+         * Delete the drained records after they have been processed.
+         * <p>It has no effect if this reader has not been returned by the drain.
+         *
+         * @throws IOException If the reader cannot be closed.
+         */
+        public void delete() throws IOException {
+            close();
+
+            if (mLog == null) {
+                return;
+            }
+
+            synchronized (mLog.mFileLock) {
+                for (File file : mFiles) {
+                    discard(file);
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            mIndex = mFiles.length;
+
+            if (mStream != null) {
+                mStream.close();
+                mStream = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2022 Pranav Pandey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.pranavpandey.android.dynamic.rating.interaction;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.pranavpandey.android.dynamic.rating.Rating;
+
+import java.nio.ByteBuffer;
+
+/**
+ * An immutable record of an interaction with the rating dialog.
+ * <p>It has a fixed size when written to the {@link InteractionLog}, the campaign is stored
+ * as a hash that can be obtained via {@link #getCampaignId(String)}.
+ */
+public class RatingInteraction {
+
+    /**
+     * Size in bytes of a record.
+     */
+    public static final int SIZE = 8 + 4 + 4 + 4;
+
+    /**
+     * Campaign id for the default instance.
+     */
+    public static final int CAMPAIGN_DEFAULT = 0;
+
+    /**
+     * Time of the interaction in milliseconds.
+     */
+    private final long mTime;
+
+    /**
+     * Type of the interaction.
+     *
+     * @see Rating.Interaction
+     */
+    private final int mType;
+
+    /**
+     * Rating selected in the dialog.
+     */
+    private final float mRating;
+
+    /**
+     * Hash of the campaign for the interaction.
+     */
+    private final int mCampaign;
+
+    /**
+     * Constructor to initialize an object of this class.
+     *
+     * @param time The time of the interaction in milliseconds.
+     * @param type The type of the interaction.
+     * @param rating The rating selected in the dialog.
+     * @param campaign The hash of the campaign for the interaction.
+     */
+    public RatingInteraction(long time, int type, float rating, int campaign) {
+        this.mTime = time;
+        this.mType = type;
+        this.mRating = rating;
+        this.mCampaign = campaign;
+    }
+
+    /**
+     * Returns the hash to store the supplied campaign.
+     *
+     * @param campaign The campaign id, {@code null} for the default instance.
+     *
+     * @return The hash to store the supplied campaign.
+     */
+    public static int getCampaignId(@Nullable String campaign) {
+        return campaign != null ? campaign.hashCode() : CAMPAIGN_DEFAULT;
+    }
+
+    /**
+     * Read an interaction from the supplied buffer.
+     *
+     * @param buffer The buffer to read the interaction.
+     *
+     * @return The interaction read from the supplied buffer.
+     */
+    static @NonNull RatingInteraction read(@NonNull ByteBuffer buffer) {
+        return new RatingInteraction(buffer.getLong(),
+                buffer.getInt(), buffer.getFloat(), buffer.getInt());
+    }
+
+    /**
+     * Write an interaction into the supplied buffer.
+     *
+     * @param buffer The buffer to write the interaction.
+     * @param time The time of the interaction in milliseconds.
+     * @param type The type of the interaction.
+     * @param rating The rating selected in the dialog.
+     * @param campaign The hash of the campaign for the interaction.
+     */
+    static void write(@NonNull ByteBuffer buffer,
+            long time, int type, float rating, int campaign) {
+        buffer.putLong(time).putInt(type).putFloat(rating).putInt(campaign);
+    }
+
+    /**
+     * Returns the time of the interaction in milliseconds.
+     *
+     * @return The time of the interaction in milliseconds.
+     */
+    public long getTime() {
+        return mTime;
+    }
+
+    /**
+     * Returns the type of the interaction.
+     *
+     * @return The type of the interaction.
+     *
+     * @see Rating.Interaction
+     */
+    public int getType() {
+        return mType;
+    }
+
+    /**
+     * Returns the rating selected in the dialog.
+     *
+     * @return The rating selected in the dialog.
+     */
+    public float getRating() {
+        return mRating;
+    }
+
+    /**
+     * Returns the hash of the campaign for the interaction.
+     *
+     * @return The hash of the campaign for the interaction.
+     *
+     * @see #getCampaignId(String)
+     */
+    public int getCampaign() {
+        return mCampaign;
+    }
+
+    @Override
+    public @NonNull String toString() {
+        return "RatingInteraction{" + "time=" + mTime + ", type=" + mType
+                + ", rating=" + mRating + ", campaign=" + mCampaign + '}';
+    }
+}
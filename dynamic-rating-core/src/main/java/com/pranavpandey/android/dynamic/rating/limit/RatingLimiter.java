@@ -0,0 +1,198 @@
+/*
+ * Copyright 2022 Pranav Pandey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.pranavpandey.android.dynamic.rating.limit;
+
+import androidx.annotation.NonNull;
+
+import com.pranavpandey.android.dynamic.rating.Rating;
+import com.pranavpandey.android.dynamic.rating.engine.RatingEngine;
+import com.pranavpandey.android.dynamic.rating.store.RatingStore;
+
+/**
+ * A token bucket to limit the no. of automatic rating dialogs across all the entry points.
+ * <p>It allows up to the capacity of dialogs and refills a token after each period, so the
+ * user is not prompted multiple times even if the rating conditions of several base keys or
+ * campaigns are met. Its state is persisted in two primitives which are global and not
+ * prefixed by the base key.
+ * <p>The state should be loaded along with the rating state via {@link #load()}, so the
+ * checks only compare the in-memory state and the store is written only when a token has
+ * been consumed.
+ */
+public class RatingLimiter {
+
+    /**
+     * Engine to provide the store and the clock.
+     */
+    private final RatingEngine mEngine;
+
+    /**
+     * Maximum no. of tokens.
+     */
+    private final int mCapacity;
+
+    /**
+     * Period in milliseconds to refill a token.
+     */
+    private final long mPeriod;
+
+    /**
+     * Store from which the state has been loaded.
+     */
+    private volatile RatingStore mStore;
+
+    /**
+     * No. of tokens available.
+     */
+    private volatile int mTokens;
+
+    /**
+     * Time in milliseconds from which the next token will be refilled.
+     */
+    private volatile long mRefill;
+
+    /**
+     * Constructor to initialize an object of this class with the default values.
+     *
+     * @param engine The engine to provide the store and the clock.
+     *
+     * @see Rating.Default#LIMITER_CAPACITY
+     * @see Rating.Default#LIMITER_PERIOD
+     */
+    public RatingLimiter(@NonNull RatingEngine engine) {
+        this(engine, Rating.Default.LIMITER_CAPACITY, Rating.Default.LIMITER_PERIOD);
+    }
+
+    /**
+     * Constructor to initialize an object of this class.
+     *
+     * @param engine The engine to provide the store and the clock.
+     * @param capacity The maximum no. of rating dialogs within a period.
+     * @param period The period in milliseconds to refill a token.
+     */
+    public RatingLimiter(@NonNull RatingEngine engine, int capacity, long period) {
+        this.mEngine = engine;
+        this.mCapacity = Math.max(1, capacity);
+        this.mPeriod = Math.max(1L, period);
+    }
+
+    /**
+     * Returns the maximum no. of rating dialogs within a period.
+     *
+     * @return The maximum no. of rating dialogs within a period.
+     */
+    public int getCapacity() {
+        return mCapacity;
+    }
+
+    /**
+     * Returns the period in milliseconds to refill a token.
+     *
+     * @return The period in milliseconds to refill a token.
+     */
+    public long getPeriod() {
+        return mPeriod;
+    }
+
+    /**
+     * Load the state from the store if it has not been loaded or the store has been changed.
+     * <p>It should be called from a background thread, otherwise the state will be loaded
+     * on the first check.
+     */
+    public void load() {
+        final RatingStore store = mEngine.getStore();
+
+        if (mStore == store) {
+            return;
+        }
+
+        synchronized (this) {
+            if (mStore == store) {
+                return;
+            }
+
+            mRefill = store.getLong(Rating.Key.LIMITER_REFILL,
+                    mEngine.getClock().currentTimeMillis());
+            mTokens = Math.min(mCapacity, store.getInt(Rating.Key.LIMITER_TOKENS, mCapacity));
+            mStore = store;
+        }
+    }
+
+    /**
+     * Checks whether a rating dialog is allowed without consuming a token.
+     *
+     * @return {@code true} if a rating dialog is allowed.
+     */
+    public boolean isAllowed() {
+        load();
+
+        return mTokens > 0 || mEngine.getClock().currentTimeMillis() - mRefill >= mPeriod;
+    }
+
+    /**
+     * Try to consume a token to allow a rating dialog.
+     *
+     * @return {@code true} if a token has been consumed and the dialog is allowed.
+     */
+    public boolean tryAcquire() {
+        if (!isAllowed()) {
+            return false;
+        }
+
+        synchronized (this) {
+            final long time = mEngine.getClock().currentTimeMillis();
+            int tokens = mTokens;
+            long refill = mRefill;
+
+            if (time < refill) {
+                refill = time;
+            } else if (time - refill >= mPeriod) {
+                final long periods = (time - refill) / mPeriod;
+
+                tokens = (int) Math.min(mCapacity, tokens + periods);
+                refill += periods * mPeriod;
+            }
+
+            if (tokens <= 0) {
+                mRefill = refill;
+                return false;
+            }
+
+            if (tokens == mCapacity) {
+                refill = time;
+            }
+
+            mTokens = tokens - 1;
+            mRefill = refill;
+            mStore.edit().putInt(Rating.Key.LIMITER_TOKENS, mTokens)
+                    .putLong(Rating.Key.LIMITER_REFILL, mRefill).apply();
+        }
+
+        return true;
+    }
+
+    /**
+     * Refill all the tokens and remove the persisted state.
+     */
+    public synchronized void reset() {
+        load();
+
+        mTokens = mCapacity;
+        mRefill = mEngine.getClock().currentTimeMillis();
+        mStore.edit().delete(Rating.Key.LIMITER_TOKENS)
+                .delete(Rating.Key.LIMITER_REFILL).apply();
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright 2022 Pranav Pandey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.pranavpandey.android.dynamic.rating.metrics;
+
+import androidx.annotation.NonNull;
+
+import com.pranavpandey.android.dynamic.rating.Rating;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A {@link RatingMetrics} to keep the counters and latency histograms in memory.
+ * <p>It is lock-free and does not allocate while recording. The latency is recorded into
+ * fixed buckets with the power of two boundaries in nanoseconds.
+ */
+public class InMemoryRatingMetrics implements RatingMetrics {
+
+    /**
+     * No. of buckets for each latency histogram.
+     */
+    public static final int BUCKETS = 40;
+
+    /**
+     * Values of the counters.
+     */
+    private final AtomicLongArray mCounters;
+
+    /**
+     * Latency histograms, {@link #BUCKETS} for each latency.
+     */
+    private final AtomicLongArray mBuckets;
+
+    /**
+     * Total duration in nanoseconds for each latency.
+     */
+    private final AtomicLongArray mTotals;
+
+    /**
+     * Constructor to initialize an object of this class.
+     */
+    public InMemoryRatingMetrics() {
+        this.mCounters = new AtomicLongArray(Rating.Metric.COUNT);
+        this.mBuckets = new AtomicLongArray(Rating.Latency.COUNT * BUCKETS);
+        this.mTotals = new AtomicLongArray(Rating.Latency.COUNT);
+    }
+
+    /**
+     * Returns the bucket for the supplied duration.
+     *
+     * @param nanos The duration in nanoseconds.
+     *
+     * @return The bucket for the supplied duration.
+     */
+    public static int getBucket(long nanos) {
+        return Math.min(BUCKETS - 1, Long.SIZE - Long.numberOfLeadingZeros(Math.max(0L, nanos)));
+    }
+
+    /**
+     * Returns the exclusive upper bound in nanoseconds for the supplied bucket.
+     *
+     * @param bucket The bucket to get the upper bound.
+     *
+     * @return The exclusive upper bound in nanoseconds for the supplied bucket.
+     */
+    public static long getUpperBound(int bucket) {
+        return bucket >= BUCKETS - 1 ? Long.MAX_VALUE : 1L << bucket;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public void increment(int metric) {
+        if (metric >= 0 && metric < Rating.Metric.COUNT) {
+            mCounters.incrementAndGet(metric);
+        }
+    }
+
+    @Override
+    public void record(int latency, long nanos) {
+        if (latency >= 0 && latency < Rating.Latency.COUNT) {
+            mBuckets.incrementAndGet(latency * BUCKETS + getBucket(nanos));
+            mTotals.addAndGet(latency, nanos);
+        }
+    }
+
+    /**
+     * Returns a snapshot of the recorded metrics.
+     * <p>The values are read without stopping the recording, so they can be slightly
+     * inconsistent with each other under contention.
+     *
+     * @return The snapshot of the recorded metrics.
+     */
+    public @NonNull Snapshot snapshot() {
+        final long[] counters = new long[Rating.Metric.COUNT];
+        final long[] buckets = new long[Rating.Latency.COUNT * BUCKETS];
+        final long[] totals = new long[Rating.Latency.COUNT];
+
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = mCounters.get(i);
+        }
+
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = mBuckets.get(i);
+        }
+
+        for (int i = 0; i < totals.length; i++) {
+            totals[i] = mTotals.get(i);
+        }
+
+        return new Snapshot(counters, buckets, totals);
+    }
+
+    /**
+     * Reset all the recorded metrics.
+     */
+    public void reset() {
+        for (int i = 0; i < mCounters.length(); i++) {
+            mCounters.set(i, 0L);
+        }
+
+        for (int i = 0; i < mBuckets.length(); i++) {
+            mBuckets.set(i, 0L);
+        }
+
+        for (int i = 0; i < mTotals.length(); i++) {
+            mTotals.set(i, 0L);
+        }
+    }
+
+    /**
+     * An immutable snapshot of the recorded metrics.
+     */
+    public static final class Snapshot {
+
+        /**
+         * Values of the counters.
+         */
+        private final long[] mCounters;
+
+        /**
+         * Latency histograms.
+         */
+        private final long[] mBuckets;
+
+        /**
+         * Total duration in nanoseconds for each latency.
+         */
+        private final long[] mTotals;
+
+        /**
+         * Constructor to initialize an object of this class.
+         *
+         * @param counters The values of the counters.
+         * @param buckets The latency histograms.
+         * @param totals The total duration in nanoseconds for each latency.
+         */
+        Snapshot(@NonNull long[] counters, @NonNull long[] buckets, @NonNull long[] totals) {
+            this.mCounters = counters;
+            this.mBuckets = buckets;
+            this.mTotals = totals;
+        }
+
+        /**
+         * Returns the value of the supplied counter.
+         *
+         * @param metric The counter to get the value.
+         *
+         * @return The value of the supplied counter.
+         *
+         * @see Rating.Metric
+         */
+        public long getCount(int metric) {
+            return mCounters[metric];
+        }
+
+        /**
+         * Returns the no. of durations recorded in the supplied bucket.
+         *
+         * @param latency The latency to get the bucket.
+         * @param bucket The bucket to get the no. of durations.
+         *
+         * @return The no. of durations recorded in the supplied bucket.
+         *
+         * @see Rating.Latency
+         * @see #getUpperBound(int)
+         */
+        public long getBucketCount(int latency, int bucket) {
+            return mBuckets[latency * BUCKETS + bucket];
+        }
+
+        /**
+         * Returns the no. of durations recorded for the supplied latency.
+         *
+         * @param latency The latency to get the no. of durations.
+         *
+         * @return The no. of durations recorded for the supplied latency.
+         *
+         * @see Rating.Latency
+         */
+        public long getLatencyCount(int latency) {
+            long count = 0L;
+
+            for (int i = 0; i < BUCKETS; i++) {
+                count += getBucketCount(latency, i);
+            }
+
+            return count;
+        }
+
+        /**
+         * Returns the total duration in nanoseconds recorded for the supplied latency.
+         *
+         * @param latency The latency to get the total duration.
+         *
+         * @return The total duration in nanoseconds recorded for the supplied latency.
+         *
+         * @see Rating.Latency
+         */
+        public long getTotalNanos(int latency) {
+            return mTotals[latency];
+        }
+
+        /**
+         * Returns the upper bound in nanoseconds of the bucket containing the supplied
+         * percentile for the supplied latency.
+         *
+         * @param latency The latency to get the percentile.
+         * @param percentile The percentile between {@code 0} and {@code 100}.
+         *
+         * @return The upper bound in nanoseconds of the bucket containing the supplied
+         *         percentile, or {@code 0} if nothing has been recorded.
+         *
+         * @see Rating.Latency
+         */
+        public long getPercentile(int latency, double percentile) {
+            final long count = getLatencyCount(latency);
+
+            if (count == 0L) {
+                return 0L;
+            }
+
+            final long target = Math.max(1L, (long) Math.ceil(count * percentile / 100d));
+            long seen = 0L;
+
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += getBucketCount(latency, i);
+
+                if (seen >= target) {
+                    return getUpperBound(i);
+                }
+            }
+
+            return getUpperBound(BUCKETS - 1);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2022 Pranav Pandey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.pranavpandey.android.dynamic.rating.metrics;
+
+import com.pranavpandey.android.dynamic.rating.Rating;
+
+/**
+ * An interface to record the rating metrics, such as the prompt funnel and the latency of
+ * the frequent operations.
+ * <p>The implementations must be thread-safe and should not allocate while recording.
+ *
+ * @see InMemoryRatingMetrics
+ */
+public interface RatingMetrics {
+
+    /**
+     * Metrics that do not record anything.
+     */
+    RatingMetrics NONE = new RatingMetrics() {
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+
+        @Override
+        public void increment(int metric) { }
+
+        @Override
+        public void record(int latency, long nanos) { }
+    };
+
+    /**
+     * Checks whether the metrics are being recorded.
+     * <p>The latency will not be measured if it returns {@code false}.
+     *
+     * @return {@code true} if the metrics are being recorded.
+     */
+    boolean isEnabled();
+
+    /**
+     * Increment the supplied counter.
+     *
+     * @param metric The counter to be incremented.
+     *
+     * @see Rating.Metric
+     */
+    void increment(int metric);
+
+    /**
+     * Record the supplied latency.
+     *
+     * @param latency The latency to be recorded.
+     * @param nanos The duration in nanoseconds.
+     *
+     * @see Rating.Latency
+     */
+    void record(int latency, long nanos);
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2022 Pranav Pandey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.pranavpandey.android.dynamic.rating.model;
+
+import androidx.annotation.NonNull;
+
+import com.pranavpandey.android.dynamic.rating.Rating;
+
+/**
+ * An immutable configuration for the rating conditions.
+ */
+public final class RatingConfig {
+
+    /**
+     * Default rating configuration.
+     */
+    public static final RatingConfig DEFAULT = new RatingConfig(Rating.Default.RATE_INTERVAL,
+            Rating.Default.RATE_COUNT, Rating.Default.REMIND_INTERVAL);
+
+    /**
+     * Minimum no. of days to be passed.
+     */
+    private final int mRateInterval;
+
+    /**
+     * Minimum no. of launch count to be reached.
+     */
+    private final int mRateCount;
+
+    /**
+     * Minimum no. of days to be passed after the last reminder.
+     */
+    private final int mRemindInterval;
+
+    /**
+     * Constructor to initialize an object of this class.
+     *
+     * @param rateInterval The minimum no. of days to be passed.
+     * @param rateCount The minimum no. of launch count to be reached.
+     * @param remindInterval The minimum no. of days to be passed after the last reminder.
+     */
+    public RatingConfig(int rateInterval, int rateCount, int remindInterval) {
+        this.mRateInterval = rateInterval;
+        this.mRateCount = rateCount;
+        this.mRemindInterval = remindInterval;
+    }
+
+    /**
+     * Returns the minimum no. of days to be passed.
+     *
+     * @return The minimum no. of days to be passed.
+     */
+    public int getRateInterval() {
+        return mRateInterval;
+    }
+
+    /**
+     * Returns the minimum no. of launch count to be reached.
+     *
+     * @return The minimum no. of launch count to be reached.
+     */
+    public int getRateCount() {
+        return mRateCount;
+    }
+
+    /**
+     * Returns the minimum no. of days to be passed after the last reminder.
+     *
+     * @return The minimum no. of days to be passed after the last reminder.
+     */
+    public int getRemindInterval() {
+        return mRemindInterval;
+    }
+
+    /**
+     * Returns a copy of this configuration with the supplied rate interval.
+     *
+     * @param interval The interval to be set.
+     *
+     * @return A copy of this configuration with the supplied rate interval.
+     */
+    public @NonNull RatingConfig withRateInterval(int interval) {
+        return new RatingConfig(interval, mRateCount, mRemindInterval);
+    }
+
+    /**
+     * Returns a copy of this configuration with the supplied rate count.
+     *
+     * @param count The launch count to be set.
+     *
+     * @return A copy of this configuration with the supplied rate count.
+     */
+    public @NonNull RatingConfig withRateCount(int count) {
+        return new RatingConfig(mRateInterval, count, mRemindInterval);
+    }
+
+    /**
+     * Returns a copy of this configuration with the supplied remind interval.
+     *
+     * @param interval The interval to be set.
+     *
+     * @return A copy of this configuration with the supplied remind interval.
+     */
+    public @NonNull RatingConfig withRemindInterval(int interval) {
+        return new RatingConfig(mRateInterval, mRateCount, interval);
+    }
+
+    @Override
+    public @NonNull String toString() {
+        return "RatingConfig{" + "rateInterval=" + mRateInterval
+                + ", rateCount=" + mRateCount + ", remindInterval=" + mRemindInterval + '}';
+    }
+}
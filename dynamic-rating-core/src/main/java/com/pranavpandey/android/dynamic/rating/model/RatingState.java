@@ -0,0 +1,186 @@
+/*
+ * Copyright 2022 Pranav Pandey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.pranavpandey.android.dynamic.rating.model;
+
+import androidx.annotation.NonNull;
+
+import com.pranavpandey.android.dynamic.rating.Rating;
+
+/**
+ * An immutable snapshot of the persisted rating state.
+ * <p>It is loaded once and replaced on every mutation so that the rating checks can be
+ * performed without reading the preferences each time.
+ */
+public final class RatingState {
+
+    /**
+     * Default rating state if nothing has been persisted yet.
+     */
+    public static final RatingState DEFAULT = new RatingState(Rating.Value.FIRST_LAUNCH,
+            Rating.Value.LAST_LAUNCH, Rating.Value.LAST_REMINDER,
+            Rating.Value.LAUNCH_COUNT, Rating.Value.IS_REQUEST);
+
+    /**
+     * First launch date in milliseconds.
+     */
+    private final long mFirstLaunch;
+
+    /**
+     * Last launch date in milliseconds.
+     */
+    private final long mLastLaunch;
+
+    /**
+     * Last reminder date in milliseconds.
+     */
+    private final long mLastReminder;
+
+    /**
+     * Total launch count.
+     */
+    private final int mLaunchCount;
+
+    /**
+     * {@code true} to request for the rating.
+     */
+    private final boolean mRequest;
+
+    /**
+     * Constructor to initialize an object of this class.
+     *
+     * @param firstLaunch The first launch date in milliseconds.
+     * @param lastLaunch The last launch date in milliseconds.
+     * @param lastReminder The last reminder date in milliseconds.
+     * @param launchCount The total launch count.
+     * @param request {@code true} to request for the rating.
+     */
+    public RatingState(long firstLaunch, long lastLaunch,
+            long lastReminder, int launchCount, boolean request) {
+        this.mFirstLaunch = firstLaunch;
+        this.mLastLaunch = lastLaunch;
+        this.mLastReminder = lastReminder;
+        this.mLaunchCount = launchCount;
+        this.mRequest = request;
+    }
+
+    /**
+     * Returns the first launch date in milliseconds.
+     *
+     * @return The first launch date in milliseconds.
+     */
+    public long getFirstLaunch() {
+        return mFirstLaunch;
+    }
+
+    /**
+     * Returns the last launch date in milliseconds.
+     *
+     * @return The last launch date in milliseconds.
+     */
+    public long getLastLaunch() {
+        return mLastLaunch;
+    }
+
+    /**
+     * Returns the last reminder date in milliseconds.
+     *
+     * @return The last reminder date in milliseconds.
+     */
+    public long getLastReminder() {
+        return mLastReminder;
+    }
+
+    /**
+     * Returns the total launch count.
+     *
+     * @return The total launch count.
+     */
+    public int getLaunchCount() {
+        return mLaunchCount;
+    }
+
+    /**
+     * Checks whether to request for the rating.
+     *
+     * @return {@code true} if request for the rating.
+     */
+    public boolean isRequest() {
+        return mRequest;
+    }
+
+    /**
+     * Returns a copy of this state with the supplied first launch date.
+     *
+     * @param millis The first launch date to be set.
+     *
+     * @return A copy of this state with the supplied first launch date.
+     */
+    public @NonNull RatingState withFirstLaunch(long millis) {
+        return new RatingState(millis, mLastLaunch, mLastReminder, mLaunchCount, mRequest);
+    }
+
+    /**
+     * Returns a copy of this state with the supplied last launch date.
+     *
+     * @param millis The last launch date to be set.
+     *
+     * @return A copy of this state with the supplied last launch date.
+     */
+    public @NonNull RatingState withLastLaunch(long millis) {
+        return new RatingState(mFirstLaunch, millis, mLastReminder, mLaunchCount, mRequest);
+    }
+
+    /**
+     * Returns a copy of this state with the supplied last reminder date.
+     *
+     * @param millis The last reminder date to be set.
+     *
+     * @return A copy of this state with the supplied last reminder date.
+     */
+    public @NonNull RatingState withLastReminder(long millis) {
+        return new RatingState(mFirstLaunch, mLastLaunch, millis, mLaunchCount, mRequest);
+    }
+
+    /**
+     * Returns a copy of this state with the supplied launch count.
+     *
+     * @param count The launch count to be set.
+     *
+     * @return A copy of this state with the supplied launch count.
+     */
+    public @NonNull RatingState withLaunchCount(int count) {
+        return new RatingState(mFirstLaunch, mLastLaunch, mLastReminder, count, mRequest);
+    }
+
+    /**
+     * Returns a copy of this state with the supplied request value.
+     *
+     * @param request {@code true} to request for the rating.
+     *
+     * @return A copy of this state with the supplied request value.
+     */
+    public @NonNull RatingState withRequest(boolean request) {
+        return new RatingState(mFirstLaunch, mLastLaunch, mLastReminder, mLaunchCount, request);
+    }
+
+    @Override
+    public @NonNull String toString() {
+        return "RatingState{" + "firstLaunch=" + mFirstLaunch
+                + ", lastLaunch=" + mLastLaunch + ", lastReminder=" + mLastReminder
+                + ", launchCount=" + mLaunchCount + ", request=" + mRequest + '}';
+    }
+}
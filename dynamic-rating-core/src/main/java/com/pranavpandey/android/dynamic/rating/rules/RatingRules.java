@@ -0,0 +1,239 @@
+/*
+ * Copyright 2022 Pranav Pandey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.pranavpandey.android.dynamic.rating.rules;
+
+import androidx.annotation.NonNull;
+
+import com.pranavpandey.android.dynamic.rating.condition.RatingCondition;
+import com.pranavpandey.android.dynamic.rating.condition.RatingConditions;
+import com.pranavpandey.android.dynamic.rating.model.RatingConfig;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable set of the rating rules compiled into a {@link RatingConfig} and the
+ * {@link RatingCondition} to be evaluated by the engine.
+ * <p>The rules are compiled only once when created, so evaluating them does not require any
+ * further parsing. They can be written in a compact binary form to skip the parsing on the
+ * subsequent launches.
+ */
+public final class RatingRules {
+
+    /**
+     * Default rating rules.
+     */
+    public static final RatingRules DEFAULT = new RatingRules(RatingConfig.DEFAULT);
+
+    /**
+     * Version of the binary form.
+     */
+    private static final int FORMAT = 1;
+
+    /**
+     * Configuration for the built-in rating conditions.
+     */
+    private final RatingConfig mConfig;
+
+    /**
+     * Types of the events to be logged.
+     */
+    private final String[] mEventTypes;
+
+    /**
+     * Minimum no. of events to be logged for each type.
+     */
+    private final int[] mEventCounts;
+
+    /**
+     * No. of days to count the events for each type.
+     */
+    private final int[] mEventDays;
+
+    /**
+     * Compiled rating conditions.
+     */
+    private final List<RatingCondition> mConditions;
+
+    /**
+     * Constructor to initialize an object of this class without any event.
+     *
+     * @param config The configuration for the built-in rating conditions.
+     */
+    public RatingRules(@NonNull RatingConfig config) {
+        this(config, new String[0], new int[0], new int[0]);
+    }
+
+    /**
+     * Constructor to initialize an object of this class.
+     *
+     * @param config The configuration for the built-in rating conditions.
+     * @param eventTypes The types of the events to be logged.
+     * @param eventCounts The minimum no. of events to be logged for each type.
+     * @param eventDays The no. of days to count the events for each type.
+     */
+    private RatingRules(@NonNull RatingConfig config, @NonNull String[] eventTypes,
+            @NonNull int[] eventCounts, @NonNull int[] eventDays) {
+        this.mConfig = config;
+        this.mEventTypes = eventTypes;
+        this.mEventCounts = eventCounts;
+        this.mEventDays = eventDays;
+
+        if (eventTypes.length == 0) {
+            this.mConditions = RatingConditions.getDefaults();
+        } else {
+            final RatingCondition[] events = new RatingCondition[eventTypes.length];
+            for (int i = 0; i < events.length; i++) {
+                events[i] = RatingConditions.events(eventTypes[i], eventCounts[i], eventDays[i]);
+            }
+
+            this.mConditions = Collections.unmodifiableList(
+                    RatingConditions.withDefaults(events));
+        }
+    }
+
+    /**
+     * Returns the configuration for the built-in rating conditions.
+     *
+     * @return The configuration for the built-in rating conditions.
+     */
+    public @NonNull RatingConfig getConfig() {
+        return mConfig;
+    }
+
+    /**
+     * Returns the compiled rating conditions including the built-in ones.
+     *
+     * @return The compiled rating conditions including the built-in ones.
+     */
+    public @NonNull List<RatingCondition> getConditions() {
+        return mConditions;
+    }
+
+    /**
+     * Returns the types of the events to be logged.
+     *
+     * @return The types of the events to be logged.
+     */
+    public @NonNull List<String> getEventTypes() {
+        return Collections.unmodifiableList(Arrays.asList(mEventTypes));
+    }
+
+    /**
+     * Returns a copy of these rules with the supplied configuration.
+     *
+     * @param config The configuration to be set.
+     *
+     * @return A copy of these rules with the supplied configuration.
+     */
+    public @NonNull RatingRules withConfig(@NonNull RatingConfig config) {
+        return new RatingRules(config, mEventTypes, mEventCounts, mEventDays);
+    }
+
+    /**
+     * Returns a copy of these rules with an additional event condition.
+     *
+     * @param type The type of the events to be counted.
+     * @param count The minimum no. of events to be logged.
+     * @param days The no. of days to count the events.
+     *
+     * @return A copy of these rules with an additional event condition.
+     *
+     * @see RatingConditions#events(String, int, int)
+     */
+    public @NonNull RatingRules withEvent(@NonNull String type, int count, int days) {
+        final int length = mEventTypes.length;
+        final String[] types = Arrays.copyOf(mEventTypes, length + 1);
+        final int[] counts = Arrays.copyOf(mEventCounts, length + 1);
+        final int[] windows = Arrays.copyOf(mEventDays, length + 1);
+
+        types[length] = type;
+        counts[length] = count;
+        windows[length] = days;
+
+        return new RatingRules(mConfig, types, counts, windows);
+    }
+
+    /**
+     * Write these rules in the binary form.
+     *
+     * @param out The output to write the rules.
+     *
+     * @throws IOException If the rules cannot be written.
+     *
+     * @see #read(DataInput)
+     */
+    public void write(@NonNull DataOutput out) throws IOException {
+        out.writeInt(FORMAT);
+        out.writeInt(mConfig.getRateInterval());
+        out.writeInt(mConfig.getRateCount());
+        out.writeInt(mConfig.getRemindInterval());
+        out.writeInt(mEventTypes.length);
+
+        for (int i = 0; i < mEventTypes.length; i++) {
+            out.writeUTF(mEventTypes[i]);
+            out.writeInt(mEventCounts[i]);
+            out.writeInt(mEventDays[i]);
+        }
+    }
+
+    /**
+     * Read the rules from the binary form.
+     *
+     * @param in The input to read the rules.
+     *
+     * @return The rules read from the binary form.
+     *
+     * @throws IOException If the rules cannot be read or have an unknown format.
+     *
+     * @see #write(DataOutput)
+     */
+    public static @NonNull RatingRules read(@NonNull DataInput in) throws IOException {
+        if (in.readInt() != FORMAT) {
+            throw new IOException("Unknown format of the rating rules.");
+        }
+
+        final RatingConfig config = new RatingConfig(in.readInt(), in.readInt(), in.readInt());
+        final int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("Invalid no. of the rating events.");
+        }
+
+        final List<String> types = new ArrayList<>();
+        final int[] counts = new int[length];
+        final int[] windows = new int[length];
+
+        for (int i = 0; i < length; i++) {
+            types.add(in.readUTF());
+            counts[i] = in.readInt();
+            windows[i] = in.readInt();
+        }
+
+        return new RatingRules(config, types.toArray(new String[0]), counts, windows);
+    }
+
+    @Override
+    public @NonNull String toString() {
+        return "RatingRules{" + "config=" + mConfig
+                + ", events=" + Arrays.toString(mEventTypes) + '}';
+    }
+}
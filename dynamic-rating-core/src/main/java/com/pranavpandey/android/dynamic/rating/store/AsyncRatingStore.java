@@ -0,0 +1,260 @@
+/*
+ * Copyright 2022 Pranav Pandey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.pranavpandey.android.dynamic.rating.store;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A {@link RatingStore} to serve the reads from memory and persist the writes asynchronously
+ * to another store, similar to the {@code DataStore} approach.
+ * <p>All the writes are performed sequentially on the supplied executor so that they are
+ * persisted in the same order in which they were requested.
+ */
+public class AsyncRatingStore implements RatingStore {
+
+    /**
+     * Store to persist the data.
+     */
+    private final RatingStore mStore;
+
+    /**
+     * Executor to persist the data.
+     */
+    private final Executor mExecutor;
+
+    /**
+     * Data cached in memory.
+     */
+    private final Map<String, Object> mCache;
+
+    /**
+     * Writes waiting to be persisted.
+     */
+    private final Queue<Map<String, Object>> mWrites;
+
+    /**
+     * {@code true} if the writes are being persisted.
+     */
+    private final AtomicBoolean mWriting;
+
+    /**
+     * Constructor to initialize an object of this class.
+     *
+     * @param store The store to persist the data.
+     * @param executor The executor to persist the data.
+     */
+    public AsyncRatingStore(@NonNull RatingStore store, @NonNull Executor executor) {
+        this.mStore = store;
+        this.mExecutor = executor;
+        this.mCache = new ConcurrentHashMap<>();
+        this.mWrites = new ConcurrentLinkedQueue<>();
+        this.mWriting = new AtomicBoolean();
+    }
+
+    /**
+     * Returns the store to persist the data.
+     *
+     * @return The store to persist the data.
+     */
+    public @NonNull RatingStore getStore() {
+        return mStore;
+    }
+
+    /**
+     * Returns the cached value for the supplied key.
+     *
+     * @param key The key to be retrieved.
+     *
+     * @return The cached value for the supplied key, {@link InMemoryRatingStore#DELETED}
+     *         if it is absent, or {@code null} if it is not cached yet.
+     */
+    private @Nullable Object get(@NonNull String key) {
+        return mCache.get(key);
+    }
+
+    /**
+     * Cache the value loaded from the store unless it has been modified in the meantime.
+     * <p>The absent keys must be cached as {@link InMemoryRatingStore#DELETED} so that the
+     * later reads return their own default value rather than the one of the first caller.
+     *
+     * @param key The key to be cached.
+     * @param value The value loaded from the store.
+     *
+     * @return The cached value for the supplied key.
+     */
+    private @NonNull Object cache(@NonNull String key, @NonNull Object value) {
+        final Object cached = mCache.putIfAbsent(key, value);
+
+        return cached != null ? cached : value;
+    }
+
+    @Override
+    public long getLong(@NonNull String key, long defValue) {
+        Object value = get(key);
+
+        if (value == null) {
+            final long stored = mStore.getLong(key, defValue);
+            value = cache(key, stored != defValue
+                    || mStore.getLong(key, ~defValue) == defValue
+                    ? stored : InMemoryRatingStore.DELETED);
+        }
+
+        return value instanceof Long ? (Long) value : defValue;
+    }
+
+    @Override
+    public int getInt(@NonNull String key, int defValue) {
+        Object value = get(key);
+
+        if (value == null) {
+            final int stored = mStore.getInt(key, defValue);
+            value = cache(key, stored != defValue
+                    || mStore.getInt(key, ~defValue) == defValue
+                    ? stored : InMemoryRatingStore.DELETED);
+        }
+
+        return value instanceof Integer ? (Integer) value : defValue;
+    }
+
+    @Override
+    public boolean getBoolean(@NonNull String key, boolean defValue) {
+        Object value = get(key);
+
+        if (value == null) {
+            final boolean stored = mStore.getBoolean(key, defValue);
+            value = cache(key, stored != defValue
+                    || mStore.getBoolean(key, !defValue) == defValue
+                    ? stored : InMemoryRatingStore.DELETED);
+        }
+
+        return value instanceof Boolean ? (Boolean) value : defValue;
+    }
+
+    @Override
+    public @Nullable String getString(@NonNull String key, @Nullable String defValue) {
+        Object value = get(key);
+
+        if (value == null) {
+            final String stored = mStore.getString(key, null);
+            value = cache(key, stored != null ? stored : InMemoryRatingStore.DELETED);
+        }
+
+        return value instanceof String ? (String) value : defValue;
+    }
+
+    @Override
+    public void putLong(@NonNull String key, long value) {
+        edit().putLong(key, value).apply();
+    }
+
+    @Override
+    public void putInt(@NonNull String key, int value) {
+        edit().putInt(key, value).apply();
+    }
+
+    @Override
+    public void putBoolean(@NonNull String key, boolean value) {
+        edit().putBoolean(key, value).apply();
+    }
+
+    @Override
+    public void putString(@NonNull String key, @NonNull String value) {
+        edit().putString(key, value).apply();
+    }
+
+    @Override
+    public void delete(@NonNull String key) {
+        edit().delete(key).apply();
+    }
+
+    @Override
+    public @NonNull Batch edit() {
+        return new InMemoryRatingStore.MapBatch() {
+            @Override
+            protected void onApply(@NonNull Map<String, Object> changes) {
+                mCache.putAll(changes);
+                mWrites.offer(changes);
+
+                schedule();
+            }
+        };
+    }
+
+    @Override
+    public boolean isMultiProcess() {
+        return false;
+    }
+
+    @Override
+    public long getVersion() {
+        return 0L;
+    }
+
+    @Override
+    public void lock() { }
+
+    @Override
+    public void unlock() { }
+
+    /**
+     * Schedule the pending writes on the executor if they are not being persisted already.
+     */
+    private void schedule() {
+        if (mWrites.isEmpty() || !mWriting.compareAndSet(false, true)) {
+            return;
+        }
+
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Map<String, Object> changes;
+
+                    while ((changes = mWrites.poll()) != null) {
+                        persist(changes);
+                    }
+                } finally {
+                    mWriting.set(false);
+                    schedule();
+                }
+            }
+        });
+    }
+
+    /**
+     * Persist the supplied changes to the store.
+     *
+     * @param changes The changes to be persisted.
+     */
+    private void persist(@NonNull Map<String, Object> changes) {
+        final Batch batch = mStore.edit();
+
+        for (Map.Entry<String, Object> entry : changes.entrySet()) {
+            InMemoryRatingStore.MapBatch.put(batch, entry.getKey(), entry.getValue());
+        }
+
+        batch.apply();
+    }
+}
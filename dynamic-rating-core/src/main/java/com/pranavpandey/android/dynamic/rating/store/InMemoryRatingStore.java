@@ -0,0 +1,249 @@
+/*
+ * Copyright 2022 Pranav Pandey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.pranavpandey.android.dynamic.rating.store;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A {@link RatingStore} to keep the rating data in memory.
+ * <p>It is lock-free and replaces an immutable copy of the data on every write, so that
+ * the reads never block and a batch is always applied atomically.
+ */
+public class InMemoryRatingStore implements RatingStore {
+
+    /**
+     * Marker value for the keys deleted in a batch.
+     */
+    static final Object DELETED = new Object();
+
+    /**
+     * Immutable copy of the data held by this store.
+     */
+    private final AtomicReference<Map<String, Object>> mData;
+
+    /**
+     * Constructor to initialize an object of this class.
+     */
+    public InMemoryRatingStore() {
+        this.mData = new AtomicReference<>(Collections.<String, Object>emptyMap());
+    }
+
+    /**
+     * Returns the value for the supplied key.
+     *
+     * @param key The key to be retrieved.
+     *
+     * @return The value for the supplied key.
+     */
+    protected @Nullable Object get(@NonNull String key) {
+        return mData.get().get(key);
+    }
+
+    @Override
+    public long getLong(@NonNull String key, long defValue) {
+        final Object value = get(key);
+
+        return value instanceof Long ? (Long) value : defValue;
+    }
+
+    @Override
+    public int getInt(@NonNull String key, int defValue) {
+        final Object value = get(key);
+
+        return value instanceof Integer ? (Integer) value : defValue;
+    }
+
+    @Override
+    public boolean getBoolean(@NonNull String key, boolean defValue) {
+        final Object value = get(key);
+
+        return value instanceof Boolean ? (Boolean) value : defValue;
+    }
+
+    @Override
+    public @Nullable String getString(@NonNull String key, @Nullable String defValue) {
+        final Object value = get(key);
+
+        return value instanceof String ? (String) value : defValue;
+    }
+
+    @Override
+    public void putLong(@NonNull String key, long value) {
+        apply(Collections.<String, Object>singletonMap(key, value));
+    }
+
+    @Override
+    public void putInt(@NonNull String key, int value) {
+        apply(Collections.<String, Object>singletonMap(key, value));
+    }
+
+    @Override
+    public void putBoolean(@NonNull String key, boolean value) {
+        apply(Collections.<String, Object>singletonMap(key, value));
+    }
+
+    @Override
+    public void putString(@NonNull String key, @NonNull String value) {
+        apply(Collections.<String, Object>singletonMap(key, value));
+    }
+
+    @Override
+    public void delete(@NonNull String key) {
+        apply(Collections.singletonMap(key, DELETED));
+    }
+
+    @Override
+    public @NonNull Batch edit() {
+        return new MapBatch() {
+            @Override
+            protected void onApply(@NonNull Map<String, Object> changes) {
+                InMemoryRatingStore.this.apply(changes);
+            }
+        };
+    }
+
+    @Override
+    public boolean isMultiProcess() {
+        return false;
+    }
+
+    @Override
+    public long getVersion() {
+        return 0L;
+    }
+
+    @Override
+    public void lock() { }
+
+    @Override
+    public void unlock() { }
+
+    /**
+     * Apply the supplied changes to the data held by this store.
+     *
+     * @param changes The changes to be applied.
+     *
+     * @see #DELETED
+     */
+    protected void apply(@NonNull Map<String, Object> changes) {
+        Map<String, Object> current;
+        Map<String, Object> updated;
+
+        do {
+            current = mData.get();
+            updated = new HashMap<>(current);
+
+            for (Map.Entry<String, Object> entry : changes.entrySet()) {
+                if (entry.getValue() == DELETED) {
+                    updated.remove(entry.getKey());
+                } else {
+                    updated.put(entry.getKey(), entry.getValue());
+                }
+            }
+        } while (!mData.compareAndSet(current, Collections.unmodifiableMap(updated)));
+    }
+
+    /**
+     * A {@link Batch} to collect the changes in a map before applying them.
+     */
+    abstract static class MapBatch implements Batch {
+
+        /**
+         * Changes collected by this batch.
+         */
+        private final Map<String, Object> mChanges = new HashMap<>();
+
+        /**
+         * Put the supplied value into a batch according to its type.
+         *
+         * @param batch The batch to be modified.
+         * @param key The key to be modified.
+         * @param value The value to be put, or {@link #DELETED} to delete the key.
+         */
+        static void put(@NonNull Batch batch, @NonNull String key, @Nullable Object value) {
+            if (value instanceof Long) {
+                batch.putLong(key, (Long) value);
+            } else if (value instanceof Integer) {
+                batch.putInt(key, (Integer) value);
+            } else if (value instanceof Boolean) {
+                batch.putBoolean(key, (Boolean) value);
+            } else if (value instanceof String) {
+                batch.putString(key, (String) value);
+            } else {
+                batch.delete(key);
+            }
+        }
+
+        /**
+         * This method will be called to apply the collected changes.
+         *
+         * @param changes The changes to be applied.
+         */
+        protected abstract void onApply(@NonNull Map<String, Object> changes);
+
+        @Override
+        public @NonNull Batch putLong(@NonNull String key, long value) {
+            mChanges.put(key, value);
+
+            return this;
+        }
+
+        @Override
+        public @NonNull Batch putInt(@NonNull String key, int value) {
+            mChanges.put(key, value);
+
+            return this;
+        }
+
+        @Override
+        public @NonNull Batch putBoolean(@NonNull String key, boolean value) {
+            mChanges.put(key, value);
+
+            return this;
+        }
+
+        @Override
+        public @NonNull Batch putString(@NonNull String key, @NonNull String value) {
+            mChanges.put(key, value);
+
+            return this;
+        }
+
+        @Override
+        public @NonNull Batch delete(@NonNull String key) {
+            mChanges.put(key, DELETED);
+
+            return this;
+        }
+
+        @Override
+        public void apply() {
+            if (mChanges.isEmpty()) {
+                return;
+            }
+
+            onApply(new HashMap<>(mChanges));
+            mChanges.clear();
+        }
+    }
+}
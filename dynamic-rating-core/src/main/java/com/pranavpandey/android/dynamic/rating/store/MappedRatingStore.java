@@ -0,0 +1,568 @@
+/*
+ * Copyright 2022 Pranav Pandey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.pranavpandey.android.dynamic.rating.store;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.pranavpandey.android.dynamic.rating.Rating;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Map;
+
+/**
+ * A {@link RatingStore} to keep the rating counters in a fixed layout binary record that is
+ * accessed through a {@link MappedByteBuffer}.
+ * <p>Every read and write is a single primitive operation at a fixed offset, so there is no
+ * parsing or rewriting of the whole file. The keys other than the rating counters for the
+ * supplied base key are handled by the fallback store.
+ * <p>The record is migrated once from the fallback store when it is created for the first
+ * time, so that the existing {@link Rating.Key#BASE} keys are retained. They will be removed
+ * from the fallback store once the fields are written again, so the two never disagree.
+ */
+public class MappedRatingStore implements RatingStore {
+
+    /**
+     * Magic number to identify the record.
+     */
+    static final int MAGIC = 0x41445231;
+
+    /**
+     * Current version of the record layout.
+     */
+    static final int VERSION = 2;
+
+    /**
+     * Size of the record in bytes.
+     */
+    static final int SIZE = 64;
+
+    /**
+     * Offset for the magic number.
+     */
+    static final int OFFSET_MAGIC = 0;
+
+    /**
+     * Offset for the record version.
+     */
+    static final int OFFSET_VERSION = 4;
+
+    /**
+     * Offset for the flags of the fields that have been set.
+     */
+    static final int OFFSET_FLAGS = 8;
+
+    /**
+     * Offset for the launch count.
+     */
+    static final int OFFSET_LAUNCH_COUNT = 12;
+
+    /**
+     * Offset for the first launch date.
+     */
+    static final int OFFSET_FIRST_LAUNCH = 16;
+
+    /**
+     * Offset for the last launch date.
+     */
+    static final int OFFSET_LAST_LAUNCH = 24;
+
+    /**
+     * Offset for the last reminder date.
+     */
+    static final int OFFSET_LAST_REMINDER = 32;
+
+    /**
+     * Offset for the rating request.
+     */
+    static final int OFFSET_IS_REQUEST = 40;
+
+    /**
+     * Offset for the flags of the fields that may also have a stale value in the fallback
+     * store.
+     */
+    static final int OFFSET_FALLBACK = 44;
+
+    /**
+     * Flags for all the fields stored in the record.
+     */
+    static final int FIELDS = flag(OFFSET_LAUNCH_COUNT) | flag(OFFSET_FIRST_LAUNCH)
+            | flag(OFFSET_LAST_LAUNCH) | flag(OFFSET_LAST_REMINDER) | flag(OFFSET_IS_REQUEST);
+
+    /**
+     * Constant for an unknown field.
+     */
+    static final int FIELD_UNKNOWN = -1;
+
+    /**
+     * File to store the record.
+     */
+    private final File mFile;
+
+    /**
+     * Base key for the fields stored in the record.
+     */
+    private final String mBaseKey;
+
+    /**
+     * Store to handle the other keys and to migrate the existing data.
+     */
+    private final RatingStore mFallback;
+
+    /**
+     * Buffer mapped to the record.
+     */
+    private volatile MappedByteBuffer mBuffer;
+
+    /**
+     * {@code true} if the record could not be mapped.
+     */
+    private volatile boolean mUnavailable;
+
+    /**
+     * Constructor to initialize an object of this class.
+     *
+     * @param file The file to store the record.
+     * @param baseKey The base key for the fields stored in the record.
+     * @param fallback The store to handle the other keys and to migrate the existing data.
+     */
+    public MappedRatingStore(@NonNull File file,
+            @NonNull String baseKey, @NonNull RatingStore fallback) {
+        this.mFile = file;
+        this.mBaseKey = baseKey;
+        this.mFallback = fallback;
+    }
+
+    /**
+     * Constructor to initialize an object of this class with the default base key.
+     *
+     * @param file The file to store the record.
+     * @param fallback The store to handle the other keys and to migrate the existing data.
+     *
+     * @see Rating.Key#BASE
+     */
+    public MappedRatingStore(@NonNull File file, @NonNull RatingStore fallback) {
+        this(file, Rating.Key.BASE, fallback);
+    }
+
+    /**
+     * Returns the file to store the record.
+     *
+     * @return The file to store the record.
+     */
+    public @NonNull File getFile() {
+        return mFile;
+    }
+
+    /**
+     * Returns the store to handle the other keys.
+     *
+     * @return The store to handle the other keys.
+     */
+    public @NonNull RatingStore getFallback() {
+        return mFallback;
+    }
+
+    /**
+     * Returns the buffer mapped to the record.
+     * <p>It will map and migrate the record on first use.
+     *
+     * @return The buffer mapped to the record, or {@code null} if it could not be mapped.
+     */
+    protected @Nullable MappedByteBuffer getBuffer() {
+        MappedByteBuffer buffer = mBuffer;
+
+        if (buffer == null && !mUnavailable) {
+            synchronized (this) {
+                buffer = mBuffer;
+
+                if (buffer == null && !mUnavailable) {
+                    try {
+                        buffer = map();
+                        mBuffer = buffer;
+                    } catch (IOException e) {
+                        mUnavailable = true;
+                    }
+                }
+            }
+        }
+
+        return buffer;
+    }
+
+    /**
+     * Map the record and migrate the existing data if it is not initialized yet.
+     *
+     * @return The buffer mapped to the record.
+     *
+     * @throws IOException If the record cannot be mapped.
+     */
+    private @NonNull MappedByteBuffer map() throws IOException {
+        final File parent = mFile.getParentFile();
+        if (parent != null && !parent.exists()) {
+            //noinspection ResultOfMethodCallIgnored
+            parent.mkdirs();
+        }
+
+        final MappedByteBuffer buffer;
+        try (RandomAccessFile file = new RandomAccessFile(mFile, "rw")) {
+            buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, SIZE);
+        }
+
+        if (buffer.getInt(OFFSET_MAGIC) != MAGIC) {
+            migrate(buffer);
+        } else if (buffer.getInt(OFFSET_VERSION) < VERSION) {
+            // The earlier records did not track the values left in the fallback store, so
+            // remove all of them on the next write.
+            buffer.putInt(OFFSET_FALLBACK, FIELDS);
+            buffer.putInt(OFFSET_VERSION, VERSION);
+        }
+
+        return buffer;
+    }
+
+    /**
+     * Migrate the existing data from the fallback store into the supplied buffer.
+     *
+     * @param buffer The buffer to be initialized.
+     */
+    private void migrate(@NonNull MappedByteBuffer buffer) {
+        int flags = 0;
+
+        final long firstLaunch = mFallback.getLong(
+                mBaseKey + Rating.Key.FIRST_LAUNCH, Long.MIN_VALUE);
+        if (firstLaunch != Long.MIN_VALUE) {
+            buffer.putLong(OFFSET_FIRST_LAUNCH, firstLaunch);
+            flags |= flag(OFFSET_FIRST_LAUNCH);
+        }
+
+        final long lastLaunch = mFallback.getLong(
+                mBaseKey + Rating.Key.LAST_LAUNCH, Long.MIN_VALUE);
+        if (lastLaunch != Long.MIN_VALUE) {
+            buffer.putLong(OFFSET_LAST_LAUNCH, lastLaunch);
+            flags |= flag(OFFSET_LAST_LAUNCH);
+        }
+
+        final long lastReminder = mFallback.getLong(
+                mBaseKey + Rating.Key.LAST_REMINDER, Long.MIN_VALUE);
+        if (lastReminder != Long.MIN_VALUE) {
+            buffer.putLong(OFFSET_LAST_REMINDER, lastReminder);
+            flags |= flag(OFFSET_LAST_REMINDER);
+        }
+
+        final int launchCount = mFallback.getInt(
+                mBaseKey + Rating.Key.LAUNCH_COUNT, Integer.MIN_VALUE);
+        if (launchCount != Integer.MIN_VALUE) {
+            buffer.putInt(OFFSET_LAUNCH_COUNT, launchCount);
+            flags |= flag(OFFSET_LAUNCH_COUNT);
+        }
+
+        final String requestKey = mBaseKey + Rating.Key.IS_REQUEST;
+        final boolean request = mFallback.getBoolean(requestKey, true);
+        if (request == mFallback.getBoolean(requestKey, false)) {
+            buffer.putInt(OFFSET_IS_REQUEST, request ? 1 : 0);
+            flags |= flag(OFFSET_IS_REQUEST);
+        }
+
+        buffer.putInt(OFFSET_FLAGS, flags);
+        buffer.putInt(OFFSET_FALLBACK, flags);
+        buffer.putInt(OFFSET_VERSION, VERSION);
+        buffer.putInt(OFFSET_MAGIC, MAGIC);
+    }
+
+    /**
+     * Returns the offset of the field for the supplied key.
+     *
+     * @param key The key to be resolved.
+     *
+     * @return The offset of the field for the supplied key, or {@link #FIELD_UNKNOWN} if it
+     *         is not stored in the record.
+     */
+    protected int getOffset(@NonNull String key) {
+        if (!key.startsWith(mBaseKey)) {
+            return FIELD_UNKNOWN;
+        }
+
+        final int base = mBaseKey.length();
+        if (key.startsWith(Rating.Key.FIRST_LAUNCH, base)
+                && key.length() == base + Rating.Key.FIRST_LAUNCH.length()) {
+            return OFFSET_FIRST_LAUNCH;
+        } else if (key.startsWith(Rating.Key.LAST_LAUNCH, base)
+                && key.length() == base + Rating.Key.LAST_LAUNCH.length()) {
+            return OFFSET_LAST_LAUNCH;
+        } else if (key.startsWith(Rating.Key.LAST_REMINDER, base)
+                && key.length() == base + Rating.Key.LAST_REMINDER.length()) {
+            return OFFSET_LAST_REMINDER;
+        } else if (key.startsWith(Rating.Key.LAUNCH_COUNT, base)
+                && key.length() == base + Rating.Key.LAUNCH_COUNT.length()) {
+            return OFFSET_LAUNCH_COUNT;
+        } else if (key.startsWith(Rating.Key.IS_REQUEST, base)
+                && key.length() == base + Rating.Key.IS_REQUEST.length()) {
+            return OFFSET_IS_REQUEST;
+        }
+
+        return FIELD_UNKNOWN;
+    }
+
+    /**
+     * Checks whether the field at the supplied offset is a long value.
+     *
+     * @param offset The offset of the field.
+     *
+     * @return {@code true} if the field at the supplied offset is a long value.
+     */
+    private static boolean isLong(int offset) {
+        return offset == OFFSET_FIRST_LAUNCH || offset == OFFSET_LAST_LAUNCH
+                || offset == OFFSET_LAST_REMINDER;
+    }
+
+    /**
+     * Returns the flag for the field at the supplied offset.
+     *
+     * @param offset The offset of the field.
+     *
+     * @return The flag for the field at the supplied offset.
+     */
+    static int flag(int offset) {
+        return 1 << (offset >> 2);
+    }
+
+    /**
+     * Checks whether the field at the supplied offset has been set.
+     * <p>The buffer must be obtained via {@link #getBuffer()} before calling this method and
+     * the field should be read only after it, so the value written along with the flag by
+     * another thread is visible.
+     *
+     * @param buffer The buffer to be checked.
+     * @param offset The offset of the field.
+     *
+     * @return {@code true} if the field at the supplied offset has been set.
+     */
+    private boolean isSet(@NonNull MappedByteBuffer buffer, int offset) {
+        return (buffer.getInt(OFFSET_FLAGS) & flag(offset)) != 0;
+    }
+
+    /**
+     * Update the flag for the field at the supplied offset.
+     *
+     * @param buffer The buffer to be updated.
+     * @param flagsOffset The offset of the flags to be updated.
+     * @param offset The offset of the field.
+     * @param set {@code true} to set the flag.
+     *
+     * @return {@code true} if the flag was set before the update.
+     */
+    private boolean setFlag(@NonNull MappedByteBuffer buffer,
+            int flagsOffset, int offset, boolean set) {
+        final int flags = buffer.getInt(flagsOffset);
+
+        buffer.putInt(flagsOffset, set ? flags | flag(offset) : flags & ~flag(offset));
+        return (flags & flag(offset)) != 0;
+    }
+
+    @Override
+    public long getLong(@NonNull String key, long defValue) {
+        final int offset = getOffset(key);
+        final MappedByteBuffer buffer = getBuffer();
+
+        if (offset == FIELD_UNKNOWN || offset == OFFSET_LAUNCH_COUNT
+                || offset == OFFSET_IS_REQUEST || buffer == null) {
+            return mFallback.getLong(key, defValue);
+        }
+
+        if (!isSet(buffer, offset)) {
+            return defValue;
+        }
+
+        return buffer.getLong(offset);
+    }
+
+    @Override
+    public int getInt(@NonNull String key, int defValue) {
+        final int offset = getOffset(key);
+        final MappedByteBuffer buffer = getBuffer();
+
+        if (offset != OFFSET_LAUNCH_COUNT || buffer == null) {
+            return mFallback.getInt(key, defValue);
+        }
+
+        if (!isSet(buffer, offset)) {
+            return defValue;
+        }
+
+        return buffer.getInt(offset);
+    }
+
+    @Override
+    public boolean getBoolean(@NonNull String key, boolean defValue) {
+        final int offset = getOffset(key);
+        final MappedByteBuffer buffer = getBuffer();
+
+        if (offset != OFFSET_IS_REQUEST || buffer == null) {
+            return mFallback.getBoolean(key, defValue);
+        }
+
+        if (!isSet(buffer, offset)) {
+            return defValue;
+        }
+
+        return buffer.getInt(offset) != 0;
+    }
+
+    @Override
+    public @Nullable String getString(@NonNull String key, @Nullable String defValue) {
+        return mFallback.getString(key, defValue);
+    }
+
+    @Override
+    public void putLong(@NonNull String key, long value) {
+        edit().putLong(key, value).apply();
+    }
+
+    @Override
+    public void putInt(@NonNull String key, int value) {
+        edit().putInt(key, value).apply();
+    }
+
+    @Override
+    public void putBoolean(@NonNull String key, boolean value) {
+        edit().putBoolean(key, value).apply();
+    }
+
+    @Override
+    public void putString(@NonNull String key, @NonNull String value) {
+        edit().putString(key, value).apply();
+    }
+
+    @Override
+    public void delete(@NonNull String key) {
+        edit().delete(key).apply();
+    }
+
+    @Override
+    public @NonNull Batch edit() {
+        return new InMemoryRatingStore.MapBatch() {
+            @Override
+            protected void onApply(@NonNull Map<String, Object> changes) {
+                write(changes);
+            }
+        };
+    }
+
+    @Override
+    public boolean isMultiProcess() {
+        return false;
+    }
+
+    @Override
+    public long getVersion() {
+        return 0L;
+    }
+
+    @Override
+    public void lock() { }
+
+    @Override
+    public void unlock() { }
+
+    /**
+     * Write the supplied changes into the record and the fallback store.
+     *
+     * @param changes The changes to be written.
+     */
+    protected void write(@NonNull Map<String, Object> changes) {
+        final MappedByteBuffer buffer = getBuffer();
+        Batch fallback = null;
+
+        synchronized (this) {
+            for (Map.Entry<String, Object> entry : changes.entrySet()) {
+                final String key = entry.getKey();
+                final Object value = entry.getValue();
+                final int offset = getOffset(key);
+
+                if (buffer != null && offset != FIELD_UNKNOWN) {
+                    if (value instanceof Long && isLong(offset)) {
+                        buffer.putLong(offset, (Long) value);
+                    } else if (value instanceof Integer && offset == OFFSET_LAUNCH_COUNT) {
+                        buffer.putInt(offset, (Integer) value);
+                    } else if (value instanceof Boolean && offset == OFFSET_IS_REQUEST) {
+                        buffer.putInt(offset, (Boolean) value ? 1 : 0);
+                    } else if (value != InMemoryRatingStore.DELETED) {
+                        // Keep the values of a different type in the fallback store, so they
+                        // never overwrite the adjacent fields.
+                        setFlag(buffer, OFFSET_FLAGS, offset, false);
+                        setFlag(buffer, OFFSET_FALLBACK, offset, true);
+
+                        if (fallback == null) {
+                            fallback = mFallback.edit();
+                        }
+
+                        InMemoryRatingStore.MapBatch.put(fallback, key, value);
+                        continue;
+                    }
+
+                    setFlag(buffer, OFFSET_FLAGS, offset,
+                            value != InMemoryRatingStore.DELETED);
+
+                    // Remove the stale value from the fallback store, so it never disagrees
+                    // with the record.
+                    if (setFlag(buffer, OFFSET_FALLBACK, offset, false)) {
+                        if (fallback == null) {
+                            fallback = mFallback.edit();
+                        }
+
+                        fallback.delete(key);
+                    }
+                    continue;
+                }
+
+                if (fallback == null) {
+                    fallback = mFallback.edit();
+                }
+
+                InMemoryRatingStore.MapBatch.put(fallback, key, value);
+            }
+
+            if (buffer != null) {
+                // Publish the fields along with their flags to the threads reading them via
+                // the volatile buffer.
+                mBuffer = buffer;
+            }
+        }
+
+        if (fallback != null) {
+            fallback.apply();
+        }
+    }
+
+    /**
+     * Force the record to be written to the storage device.
+     * <p>The operating system will write it eventually, so it is only required to
+     * guarantee durability at a specific point.
+     */
+    public void force() {
+        final MappedByteBuffer buffer = getBuffer();
+
+        if (buffer != null) {
+            buffer.force();
+        }
+    }
+}
@@ -0,0 +1,689 @@
+/*
+ * Copyright 2022 Pranav Pandey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.pranavpandey.android.dynamic.rating.store;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * A {@link RatingStore} to share the rating data between multiple processes through a small
+ * binary file guarded by the file locks.
+ * <p>Each process keeps a cached view of the data which is invalidated by comparing the
+ * version in a separate header file, so the data is read again only after it has been
+ * modified by another process. The writes are performed under an exclusive lock, replace the
+ * data file atomically and then increment the version, so a crash never leaves a torn file.
+ * <p>The keys that have never been written to the file are read from the fallback store, so
+ * the existing data is retained until it is modified. A data file that cannot be read is
+ * treated as empty.
+ * <p>If the header file cannot be opened or locked, the store switches to the fallback store
+ * for the rest of its lifetime, so nothing is ever written without the file lock.
+ */
+public class MultiProcessRatingStore implements RatingStore {
+
+    /**
+     * Magic number to identify the file.
+     */
+    static final int MAGIC = 0x41445250;
+
+    /**
+     * Current version of the file format.
+     */
+    static final int FORMAT = 2;
+
+    /**
+     * Size of the header file in bytes.
+     */
+    static final int HEADER_SIZE = 16;
+
+    /**
+     * Offset for the version of the data in the header file.
+     */
+    static final int OFFSET_VERSION = 8;
+
+    /**
+     * Suffix for the header file.
+     */
+    private static final String SUFFIX_HEADER = ".version";
+
+    /**
+     * Suffix for the temporary file to replace the data file.
+     */
+    private static final String SUFFIX_TEMP = ".tmp";
+
+    /**
+     * Constant for the deleted value type.
+     */
+    private static final byte TYPE_DELETED = 0;
+
+    /**
+     * Constant for the long value type.
+     */
+    private static final byte TYPE_LONG = 1;
+
+    /**
+     * Constant for the integer value type.
+     */
+    private static final byte TYPE_INT = 2;
+
+    /**
+     * Constant for the boolean value type.
+     */
+    private static final byte TYPE_BOOLEAN = 3;
+
+    /**
+     * Constant for the string value type.
+     */
+    private static final byte TYPE_STRING = 4;
+
+    /**
+     * Locks to serialize the access within this process, shared by all the stores of a file.
+     */
+    private static final ConcurrentMap<String, ReentrantLock> sLocks =
+            new ConcurrentHashMap<>();
+
+    /**
+     * File to store the data.
+     */
+    private final File mFile;
+
+    /**
+     * File to store the version of the data and to acquire the file locks.
+     * <p>It is never replaced, so its mapping stays valid for all the processes.
+     */
+    private final File mHeaderFile;
+
+    /**
+     * Store to read the keys that have never been written.
+     */
+    private final RatingStore mFallback;
+
+    /**
+     * Lock to serialize the access within this process.
+     */
+    private final ReentrantLock mLock;
+
+    /**
+     * Channel to access the header file.
+     */
+    private FileChannel mChannel;
+
+    /**
+     * Lock acquired on the header file, if any.
+     */
+    private FileLock mFileLock;
+
+    /**
+     * Buffer mapped to the header file.
+     */
+    private volatile MappedByteBuffer mHeader;
+
+    /**
+     * {@code true} if the header file could not be opened or locked.
+     */
+    private volatile boolean mUnavailable;
+
+    /**
+     * Cached view of the data.
+     */
+    private volatile Snapshot mSnapshot;
+
+    /**
+     * Constructor to initialize an object of this class.
+     *
+     * @param file The file to store the data.
+     * @param fallback The store to read the keys that have never been written.
+     */
+    public MultiProcessRatingStore(@NonNull File file, @NonNull RatingStore fallback) {
+        this.mFile = file;
+        this.mHeaderFile = new File(file.getPath() + SUFFIX_HEADER);
+        this.mFallback = fallback;
+        this.mLock = getLock(file);
+        this.mSnapshot = new Snapshot(Long.MIN_VALUE, Collections.<String, Object>emptyMap());
+    }
+
+    /**
+     * Returns the lock to serialize the access to the supplied file within this process.
+     * <p>The file locks are held by the whole process, so the stores of the same file must
+     * not try to acquire them at the same time.
+     *
+     * @param file The file to get the lock.
+     *
+     * @return The lock to serialize the access to the supplied file within this process.
+     */
+    private static @NonNull ReentrantLock getLock(@NonNull File file) {
+        final String path = file.getAbsolutePath();
+        ReentrantLock lock = sLocks.get(path);
+
+        if (lock == null) {
+            final ReentrantLock created = new ReentrantLock();
+            lock = sLocks.putIfAbsent(path, created);
+
+            if (lock == null) {
+                lock = created;
+            }
+        }
+
+        return lock;
+    }
+
+    /**
+     * Returns the file to store the data.
+     *
+     * @return The file to store the data.
+     */
+    public @NonNull File getFile() {
+        return mFile;
+    }
+
+    /**
+     * Returns the store to read the keys that have never been written.
+     *
+     * @return The store to read the keys that have never been written.
+     */
+    public @NonNull RatingStore getFallback() {
+        return mFallback;
+    }
+
+    /**
+     * Returns the value for the supplied key from the cached view.
+     * <p>The cached view will be reloaded if the file has been modified.
+     *
+     * @param key The key to be retrieved.
+     *
+     * @return The value for the supplied key, {@link InMemoryRatingStore#DELETED} if it has
+     *         been deleted, or {@code null} if it has never been written.
+     */
+    private @Nullable Object get(@NonNull String key) {
+        return getSnapshot().mData.get(key);
+    }
+
+    /**
+     * Returns the cached view of the data and reload it if the file has been modified.
+     *
+     * @return The cached view of the data.
+     */
+    private @NonNull Snapshot getSnapshot() {
+        final Snapshot snapshot = mSnapshot;
+
+        if (mUnavailable || snapshot.mVersion == getVersion()) {
+            return snapshot;
+        }
+
+        lock();
+        try {
+            return refresh();
+        } finally {
+            unlock();
+        }
+    }
+
+    @Override
+    public long getLong(@NonNull String key, long defValue) {
+        final Object value = get(key);
+
+        if (value == null) {
+            return mFallback.getLong(key, defValue);
+        }
+
+        return value instanceof Long ? (Long) value : defValue;
+    }
+
+    @Override
+    public int getInt(@NonNull String key, int defValue) {
+        final Object value = get(key);
+
+        if (value == null) {
+            return mFallback.getInt(key, defValue);
+        }
+
+        return value instanceof Integer ? (Integer) value : defValue;
+    }
+
+    @Override
+    public boolean getBoolean(@NonNull String key, boolean defValue) {
+        final Object value = get(key);
+
+        if (value == null) {
+            return mFallback.getBoolean(key, defValue);
+        }
+
+        return value instanceof Boolean ? (Boolean) value : defValue;
+    }
+
+    @Override
+    public @Nullable String getString(@NonNull String key, @Nullable String defValue) {
+        final Object value = get(key);
+
+        if (value == null) {
+            return mFallback.getString(key, defValue);
+        }
+
+        return value instanceof String ? (String) value : defValue;
+    }
+
+    @Override
+    public void putLong(@NonNull String key, long value) {
+        edit().putLong(key, value).apply();
+    }
+
+    @Override
+    public void putInt(@NonNull String key, int value) {
+        edit().putInt(key, value).apply();
+    }
+
+    @Override
+    public void putBoolean(@NonNull String key, boolean value) {
+        edit().putBoolean(key, value).apply();
+    }
+
+    @Override
+    public void putString(@NonNull String key, @NonNull String value) {
+        edit().putString(key, value).apply();
+    }
+
+    @Override
+    public void delete(@NonNull String key) {
+        edit().delete(key).apply();
+    }
+
+    @Override
+    public @NonNull Batch edit() {
+        return new InMemoryRatingStore.MapBatch() {
+            @Override
+            protected void onApply(@NonNull Map<String, Object> changes) {
+                write(changes);
+            }
+        };
+    }
+
+    @Override
+    public boolean isMultiProcess() {
+        return !mUnavailable;
+    }
+
+    @Override
+    public long getVersion() {
+        final MappedByteBuffer header = getHeader();
+
+        return header != null ? header.getLong(OFFSET_VERSION) : 0L;
+    }
+
+    @Override
+    public void lock() {
+        mLock.lock();
+
+        if (mLock.getHoldCount() > 1 || mUnavailable) {
+            return;
+        }
+
+        try {
+            mFileLock = getChannel().lock();
+        } catch (IOException e) {
+            mFileLock = null;
+            disable();
+        }
+    }
+
+    @Override
+    public void unlock() {
+        try {
+            if (mLock.getHoldCount() == 1 && mFileLock != null) {
+                mFileLock.release();
+            }
+        } catch (IOException ignored) {
+        } finally {
+            if (mLock.getHoldCount() == 1) {
+                mFileLock = null;
+            }
+
+            mLock.unlock();
+        }
+    }
+
+    /**
+     * Write the supplied changes into the file under the exclusive lock.
+     * <p>The changes are merged with the latest data in the file, which is read again only
+     * if it has been modified by another process, and will be retained only in memory if
+     * the file cannot be written.
+     *
+     * @param changes The changes to be written.
+     */
+    protected void write(@NonNull Map<String, Object> changes) {
+        lock();
+        try {
+            if (mUnavailable) {
+                final Batch fallback = mFallback.edit();
+
+                for (Map.Entry<String, Object> entry : changes.entrySet()) {
+                    InMemoryRatingStore.MapBatch.put(fallback, entry.getKey(), entry.getValue());
+                }
+
+                fallback.apply();
+                return;
+            }
+
+            final long current = getVersion();
+            final Map<String, Object> data = new HashMap<>(refresh().mData);
+            data.putAll(changes);
+
+            try {
+                writeFile(data);
+                setVersion(current + 1);
+                mSnapshot = new Snapshot(current + 1, Collections.unmodifiableMap(data));
+            } catch (IOException e) {
+                mSnapshot = new Snapshot(current, Collections.unmodifiableMap(data));
+            }
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * Switch to the fallback store as the file lock cannot be acquired.
+     * <p>The cached view is moved into the fallback store, so the latest data is retained.
+     * It must be called while holding the lock.
+     */
+    private void disable() {
+        final Snapshot snapshot = mSnapshot;
+        mUnavailable = true;
+
+        if (!snapshot.mData.isEmpty()) {
+            final Batch fallback = mFallback.edit();
+
+            for (Map.Entry<String, Object> entry : snapshot.mData.entrySet()) {
+                InMemoryRatingStore.MapBatch.put(fallback, entry.getKey(), entry.getValue());
+            }
+
+            fallback.apply();
+        }
+
+        mSnapshot = new Snapshot(snapshot.mVersion, Collections.<String, Object>emptyMap());
+    }
+
+    /**
+     * Reload the cached view if the file has been modified.
+     * <p>It must be called while holding the lock.
+     *
+     * @return The latest view of the data.
+     */
+    private @NonNull Snapshot refresh() {
+        final Snapshot snapshot = mSnapshot;
+        final long version = getVersion();
+
+        if (mUnavailable || snapshot.mVersion == version) {
+            return snapshot;
+        }
+
+        final Snapshot loaded = readFile(version);
+        mSnapshot = loaded;
+
+        return loaded;
+    }
+
+    /**
+     * Returns the channel to access the header file.
+     * <p>The header file will be created with the initial version if it does not exist.
+     *
+     * @return The channel to access the header file.
+     *
+     * @throws IOException If the header file cannot be opened.
+     */
+    private synchronized @NonNull FileChannel getChannel() throws IOException {
+        if (mChannel == null) {
+            final File parent = mHeaderFile.getParentFile();
+            if (parent != null && !parent.isDirectory() && !parent.mkdirs()
+                    && !parent.isDirectory()) {
+                throw new IOException("Cannot create the directory: " + parent);
+            }
+
+            final RandomAccessFile file = new RandomAccessFile(mHeaderFile, "rw");
+            if (file.length() < HEADER_SIZE) {
+                file.setLength(HEADER_SIZE);
+            }
+
+            mChannel = file.getChannel();
+        }
+
+        return mChannel;
+    }
+
+    /**
+     * Returns the buffer mapped to the header file.
+     * <p>It is mapped only once, so checking the version does not require any system call.
+     *
+     * @return The buffer mapped to the header file, or {@code null} if it could not be opened.
+     */
+    private @Nullable MappedByteBuffer getHeader() {
+        MappedByteBuffer header = mHeader;
+
+        if (header == null && !mUnavailable) {
+            synchronized (this) {
+                header = mHeader;
+
+                if (header == null && !mUnavailable) {
+                    try {
+                        header = getChannel().map(FileChannel.MapMode.READ_WRITE,
+                                0, HEADER_SIZE);
+                        mHeader = header;
+                    } catch (IOException e) {
+                        mUnavailable = true;
+                    }
+                }
+            }
+        }
+
+        return header;
+    }
+
+    /**
+     * Sets the version of the data in the header file.
+     * <p>It must be called while holding the lock.
+     *
+     * @param version The version to be set.
+     */
+    private void setVersion(long version) {
+        final MappedByteBuffer header = getHeader();
+
+        if (header != null) {
+            header.putInt(0, MAGIC);
+            header.putInt(4, FORMAT);
+            header.putLong(OFFSET_VERSION, version);
+        }
+    }
+
+    /**
+     * Read the data from the file.
+     * <p>A missing, partial or corrupted file will be treated as empty, so the keys will be
+     * read from the fallback store until they are written again.
+     *
+     * @param version The version of the data to be read.
+     *
+     * @return The data read from the file.
+     */
+    private @NonNull Snapshot readFile(long version) {
+        final Map<String, Object> data = new HashMap<>();
+
+        if (!mFile.isFile()) {
+            return new Snapshot(version, Collections.unmodifiableMap(data));
+        }
+
+        try {
+            final RandomAccessFile file = new RandomAccessFile(mFile, "r");
+            final byte[] bytes;
+
+            try {
+                bytes = new byte[(int) file.length()];
+                file.readFully(bytes);
+            } finally {
+                file.close();
+            }
+
+            if (bytes.length < 8 + 4 + 8) {
+                return new Snapshot(version, Collections.unmodifiableMap(data));
+            }
+
+            final CRC32 crc = new CRC32();
+            crc.update(bytes, 0, bytes.length - 8);
+            if (ByteBuffer.wrap(bytes, bytes.length - 8, 8).getLong() != crc.getValue()) {
+                return new Snapshot(version, Collections.unmodifiableMap(data));
+            }
+
+            final DataInputStream input = new DataInputStream(
+                    new ByteArrayInputStream(bytes, 0, bytes.length - 8));
+
+            if (input.readInt() != MAGIC || input.readInt() != FORMAT) {
+                return new Snapshot(version, Collections.unmodifiableMap(data));
+            }
+
+            final int count = input.readInt();
+
+            for (int i = 0; i < count; i++) {
+                final String key = input.readUTF();
+                final byte type = input.readByte();
+
+                switch (type) {
+                    case TYPE_LONG:
+                        data.put(key, input.readLong());
+                        break;
+                    case TYPE_INT:
+                        data.put(key, input.readInt());
+                        break;
+                    case TYPE_BOOLEAN:
+                        data.put(key, input.readBoolean());
+                        break;
+                    case TYPE_STRING:
+                        data.put(key, input.readUTF());
+                        break;
+                    default:
+                        data.put(key, InMemoryRatingStore.DELETED);
+                        break;
+                }
+            }
+        } catch (IOException e) {
+            data.clear();
+        }
+
+        return new Snapshot(version, Collections.unmodifiableMap(data));
+    }
+
+    /**
+     * Write the supplied data into a temporary file and then atomically replace the data
+     * file with it.
+     *
+     * @param data The data to be written.
+     *
+     * @throws IOException If the file cannot be written or replaced.
+     */
+    private void writeFile(@NonNull Map<String, Object> data) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream output = new DataOutputStream(bytes);
+
+        output.writeInt(MAGIC);
+        output.writeInt(FORMAT);
+        output.writeInt(data.size());
+
+        for (Map.Entry<String, Object> entry : data.entrySet()) {
+            final Object value = entry.getValue();
+            output.writeUTF(entry.getKey());
+
+            if (value instanceof Long) {
+                output.writeByte(TYPE_LONG);
+                output.writeLong((Long) value);
+            } else if (value instanceof Integer) {
+                output.writeByte(TYPE_INT);
+                output.writeInt((Integer) value);
+            } else if (value instanceof Boolean) {
+                output.writeByte(TYPE_BOOLEAN);
+                output.writeBoolean((Boolean) value);
+            } else if (value instanceof String) {
+                output.writeByte(TYPE_STRING);
+                output.writeUTF((String) value);
+            } else {
+                output.writeByte(TYPE_DELETED);
+            }
+        }
+
+        output.flush();
+        final CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        output.writeLong(crc.getValue());
+        output.flush();
+
+        final File temp = new File(mFile.getPath() + SUFFIX_TEMP);
+        final FileOutputStream out = new FileOutputStream(temp);
+
+        try {
+            out.write(bytes.toByteArray());
+            out.getFD().sync();
+        } finally {
+            out.close();
+        }
+
+        if (!temp.renameTo(mFile)) {
+            //noinspection ResultOfMethodCallIgnored
+            temp.delete();
+            throw new IOException("Cannot replace the file: " + mFile);
+        }
+    }
+
+    /**
+     * An immutable view of the data along with its version.
+     */
+    private static final class Snapshot {
+
+        /**
+         * Version of the data.
+         */
+        private final long mVersion;
+
+        /**
+         * Data read from the file.
+         */
+        private final Map<String, Object> mData;
+
+        /**
+         * Constructor to initialize an object of this class.
+         *
+         * @param version The version of the data.
+         * @param data The data read from the file.
+         */
+        Snapshot(long version, @NonNull Map<String, Object> data) {
+            this.mVersion = version;
+            this.mData = data;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2022 Pranav Pandey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.pranavpandey.android.dynamic.rating.store;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * An interface to persist the rating data.
+ * <p>It can be implemented to store the data in a custom backend.
+ */
+public interface RatingStore {
+
+    /**
+     * Returns the long value for the supplied key.
+     *
+     * @param key The key to be retrieved.
+     * @param defValue The default value if the key does not exist.
+     *
+     * @return The long value for the supplied key.
+     */
+    long getLong(@NonNull String key, long defValue);
+
+    /**
+     * Returns the integer value for the supplied key.
+     *
+     * @param key The key to be retrieved.
+     * @param defValue The default value if the key does not exist.
+     *
+     * @return The integer value for the supplied key.
+     */
+    int getInt(@NonNull String key, int defValue);
+
+    /**
+     * Returns the boolean value for the supplied key.
+     *
+     * @param key The key to be retrieved.
+     * @param defValue The default value if the key does not exist.
+     *
+     * @return The boolean value for the supplied key.
+     */
+    boolean getBoolean(@NonNull String key, boolean defValue);
+
+    /**
+     * Returns the string value for the supplied key.
+     *
+     * @param key The key to be retrieved.
+     * @param defValue The default value if the key does not exist.
+     *
+     * @return The string value for the supplied key.
+     */
+    @Nullable String getString(@NonNull String key, @Nullable String defValue);
+
+    /**
+     * Save the long value for the supplied key.
+     *
+     * @param key The key to be saved.
+     * @param value The value to be saved.
+     */
+    void putLong(@NonNull String key, long value);
+
+    /**
+     * Save the integer value for the supplied key.
+     *
+     * @param key The key to be saved.
+     * @param value The value to be saved.
+     */
+    void putInt(@NonNull String key, int value);
+
+    /**
+     * Save the boolean value for the supplied key.
+     *
+     * @param key The key to be saved.
+     * @param value The value to be saved.
+     */
+    void putBoolean(@NonNull String key, boolean value);
+
+    /**
+     * Save the string value for the supplied key.
+     *
+     * @param key The key to be saved.
+     * @param value The value to be saved.
+     */
+    void putString(@NonNull String key, @NonNull String value);
+
+    /**
+     * Delete the value for the supplied key.
+     *
+     * @param key The key to be deleted.
+     */
+    void delete(@NonNull String key);
+
+    /**
+     * Returns a batch to modify multiple values in a single operation.
+     *
+     * @return The batch to modify multiple values.
+     */
+    @NonNull Batch edit();
+
+    /**
+     * Checks whether this store can be modified by multiple processes.
+     * <p>The rating state will be reloaded whenever the {@link #getVersion()} is changed
+     * and it will be modified within {@link #lock()} and {@link #unlock()}.
+     *
+     * @return {@code true} if this store can be modified by multiple processes.
+     */
+    boolean isMultiProcess();
+
+    /**
+     * Returns the version of the data that is changed on every modification.
+     * <p>It should be cheap to retrieve as it will be checked on every read of a
+     * multi-process store.
+     *
+     * @return The version of the data.
+     */
+    long getVersion();
+
+    /**
+     * Acquire the lock to read and modify the data atomically across the processes.
+     * <p>It must be reentrant and must be followed by a call to {@link #unlock()}.
+     */
+    void lock();
+
+    /**
+     * Release the lock acquired by {@link #lock()}.
+     */
+    void unlock();
+
+    /**
+     * An interface to modify multiple values in a single operation.
+     */
+    interface Batch {
+
+        /**
+         * Save the long value for the supplied key.
+         *
+         * @param key The key to be saved.
+         * @param value The value to be saved.
+         *
+         * @return The {@link Batch} object to allow for chaining of calls to set methods.
+         */
+        @NonNull Batch putLong(@NonNull String key, long value);
+
+        /**
+         * Save the integer value for the supplied key.
+         *
+         * @param key The key to be saved.
+         * @param value The value to be saved.
+         *
+         * @return The {@link Batch} object to allow for chaining of calls to set methods.
+         */
+        @NonNull Batch putInt(@NonNull String key, int value);
+
+        /**
+         * Save the boolean value for the supplied key.
+         *
+         * @param key The key to be saved.
+         * @param value The value to be saved.
+         *
+         * @return The {@link Batch} object to allow for chaining of calls to set methods.
+         */
+        @NonNull Batch putBoolean(@NonNull String key, boolean value);
+
+        /**
+         * Save the string value for the supplied key.
+         *
+         * @param key The key to be saved.
+         * @param value The value to be saved.
+         *
+         * @return The {@link Batch} object to allow for chaining of calls to set methods.
+         */
+        @NonNull Batch putString(@NonNull String key, @NonNull String value);
+
+        /**
+         * Delete the value for the supplied key.
+         *
+         * @param key The key to be deleted.
+         *
+         * @return The {@link Batch} object to allow for chaining of calls to set methods.
+         */
+        @NonNull Batch delete(@NonNull String key);
+
+        /**
+         * Persist all the changes in a single operation.
+         */
+        void apply();
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2022 Pranav Pandey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.pranavpandey.android.dynamic.rating.trace;
+
+import androidx.annotation.NonNull;
+
+import com.pranavpandey.android.dynamic.rating.Rating;
+
+/**
+ * An interface to receive the timing of the library hot paths.
+ * <p>It can be used to attribute the startup and jank regressions to this library and to
+ * enforce a performance budget. It will be called on the thread that performed the work,
+ * so it should return quickly.
+ */
+public interface RatingTracer {
+
+    /**
+     * This method will be called after a traced section has been completed.
+     *
+     * @param section The name of the traced section.
+     * @param startNanos The start time of the section in nanoseconds.
+     * @param endNanos The end time of the section in nanoseconds.
+     *
+     * @see Rating.Trace
+     */
+    void onSection(@NonNull String section, long startNanos, long endNanos);
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2022 Pranav Pandey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.pranavpandey.android.dynamic.rating.engine;
+
+import com.pranavpandey.android.dynamic.rating.Rating;
+import com.pranavpandey.android.dynamic.rating.clock.ManualRatingClock;
+import com.pranavpandey.android.dynamic.rating.model.RatingState;
+import com.pranavpandey.android.dynamic.rating.store.InMemoryRatingStore;
+import com.pranavpandey.android.dynamic.rating.store.RatingStore;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Stress tests for the concurrent updates, the reminders, the eligibility checks and the
+ * single-writer flush of the {@link RatingEngine}.
+ */
+public class RatingEngineStressTest {
+
+    /**
+     * Number of threads updating the engine at the same time.
+     */
+    private static final int THREADS = 8;
+
+    /**
+     * Number of updates performed by each thread.
+     */
+    private static final int UPDATES = 2_000;
+
+    /**
+     * Time of the first launch.
+     */
+    private static final long TIME = 1_000_000L;
+
+    /**
+     * Clock to control the current time.
+     */
+    private ManualRatingClock mClock;
+
+    /**
+     * Executor to run the threads.
+     */
+    private ExecutorService mExecutor;
+
+    /**
+     * Store to persist the rating data.
+     */
+    private RatingStore mStore;
+
+    /**
+     * Engine to be tested.
+     */
+    private RatingEngine mEngine;
+
+    /**
+     * Create the engine and the executor to run the threads.
+     */
+    @Before
+    public void setUp() {
+        mExecutor = Executors.newFixedThreadPool(THREADS);
+        mStore = new InMemoryRatingStore();
+        mClock = new ManualRatingClock(TIME);
+        mEngine = new RatingEngine(mStore, mClock);
+    }
+
+    /**
+     * Shut down the executor.
+     */
+    @After
+    public void tearDown() {
+        mExecutor.shutdownNow();
+    }
+
+    /**
+     * Checks that no launch is lost and that the store holds the latest snapshot after the
+     * concurrent initializations.
+     *
+     * @throws Exception If any of the threads fails.
+     */
+    @Test
+    public void concurrentInitialize() throws Exception {
+        run(new Runnable() {
+            @Override
+            public void run() {
+                mEngine.initialize();
+            }
+        });
+
+        final int launches = THREADS * UPDATES;
+        final RatingState state = mEngine.getState();
+
+        assertEquals(launches, state.getLaunchCount());
+        assertEquals(TIME, state.getFirstLaunch());
+        assertEquals(launches, mStore.getInt(
+                mEngine.getKey(Rating.Key.LAUNCH_COUNT), Rating.Value.LAUNCH_COUNT));
+        assertEquals(TIME, mStore.getLong(
+                mEngine.getKey(Rating.Key.FIRST_LAUNCH), Rating.Value.FIRST_LAUNCH));
+
+        final RatingState loaded = new RatingEngine(mStore, new ManualRatingClock()).getState();
+        assertEquals(launches, loaded.getLaunchCount());
+        assertEquals(TIME, loaded.getFirstLaunch());
+    }
+
+    /**
+     * Checks that the launches are not lost while the other fields are flushed by the
+     * other threads at the same time.
+     *
+     * @throws Exception If any of the threads fails.
+     */
+    @Test
+    public void concurrentInitializeAndEdit() throws Exception {
+        run(new Runnable() {
+            @Override
+            public void run() {
+                mEngine.initialize();
+                mEngine.edit().setLastLaunch(TIME).apply();
+            }
+        });
+
+        final RatingState loaded = new RatingEngine(mStore, new ManualRatingClock()).getState();
+        assertEquals(THREADS * UPDATES, loaded.getLaunchCount());
+        assertEquals(TIME, loaded.getLastLaunch());
+        assertEquals(mEngine.getState().getLaunchCount(), loaded.getLaunchCount());
+    }
+
+    /**
+     * Checks that the reminder is consistent and that the eligibility matches a fresh
+     * evaluation after setting the reminder and checking the conditions while the other
+     * threads are editing the state.
+     *
+     * @throws Exception If any of the threads fails.
+     */
+    @Test
+    public void concurrentReminderAndShouldRate() throws Exception {
+        mEngine.initialize();
+
+        run(new Runnable() {
+            @Override
+            public void run() {
+                mEngine.setReminder(true);
+                mEngine.shouldRate();
+            }
+        }, new Runnable() {
+            @Override
+            public void run() {
+                mEngine.shouldRate();
+            }
+        }, new Runnable() {
+            @Override
+            public void run() {
+                mEngine.edit().setLastLaunch(TIME).apply();
+                mEngine.shouldRate();
+            }
+        });
+
+        final RatingState state = mEngine.getState();
+        final RatingState loaded = new RatingEngine(mStore, new ManualRatingClock()).getState();
+
+        for (RatingState current : new RatingState[] { state, loaded }) {
+            assertTrue(current.isRequest());
+            assertEquals(TIME, current.getFirstLaunch());
+            assertEquals(TIME, current.getLastLaunch());
+            assertEquals(TIME, current.getLastReminder());
+            assertEquals(Rating.Value.LAUNCH_COUNT, current.getLaunchCount());
+        }
+
+        assertEquals(new RatingEngine(mStore, new ManualRatingClock(TIME)).shouldRate(),
+                mEngine.shouldRate());
+
+        final int days = Math.max(mEngine.getConfig().getRateInterval(),
+                mEngine.getConfig().getRemindInterval());
+        mClock.advance(days, TimeUnit.DAYS);
+        mEngine.edit().setLaunchCount(mEngine.getConfig().getRateCount()).apply();
+
+        final boolean expected = new RatingEngine(mStore,
+                new ManualRatingClock(mClock.currentTimeMillis())).shouldRate();
+        assertTrue(expected);
+        assertEquals(expected, mEngine.shouldRate());
+    }
+
+    /**
+     * Run the supplied updates on all the threads at the same time.
+     * <p>Each thread performs one of the updates in turn, so the different updates contend
+     * with each other.
+     *
+     * @param updates The updates to be performed by the threads.
+     *
+     * @throws Exception If any of the threads fails.
+     */
+    private void run(final Runnable... updates) throws Exception {
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<Void>> futures = new ArrayList<>();
+
+        for (int i = 0; i < THREADS; i++) {
+            final Runnable update = updates[i % updates.length];
+
+            futures.add(mExecutor.submit(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    start.await();
+
+                    for (int j = 0; j < UPDATES; j++) {
+                        update.run();
+                    }
+
+                    return null;
+                }
+            }));
+        }
+
+        start.countDown();
+        for (Future<Void> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+    }
+}
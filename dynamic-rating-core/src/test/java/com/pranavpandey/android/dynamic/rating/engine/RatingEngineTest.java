@@ -0,0 +1,113 @@
+/*
+ * Copyright 2022 Pranav Pandey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.pranavpandey.android.dynamic.rating.engine;
+
+import com.pranavpandey.android.dynamic.rating.clock.ManualRatingClock;
+import com.pranavpandey.android.dynamic.rating.model.RatingState;
+import com.pranavpandey.android.dynamic.rating.store.InMemoryRatingStore;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Tests for the fast path of the {@link RatingEngine}.
+ */
+public class RatingEngineTest {
+
+    /**
+     * Number of calls to be measured.
+     */
+    private static final int ITERATIONS = 100_000;
+
+    /**
+     * Number of bytes allowed to absorb the noise of the allocation measurement.
+     */
+    private static final long ALLOCATION_NOISE = 1024L;
+
+    /**
+     * Engine to be tested.
+     */
+    private RatingEngine mEngine;
+
+    /**
+     * Create an initialized engine backed by an in-memory store.
+     * <p>The launch count is exhausted, so the checks always reach the comparison of the
+     * current time with the next eligible time.
+     */
+    @Before
+    public void setUp() {
+        mEngine = new RatingEngine(new InMemoryRatingStore(), new ManualRatingClock())
+                .initialize();
+        mEngine.edit().setLaunchCount(mEngine.getConfig().getRateCount()).apply();
+    }
+
+    /**
+     * Checks that the repeated calls to {@link RatingEngine#shouldRate()} reuse the cached
+     * snapshot instead of creating a new one.
+     */
+    @Test
+    public void shouldRateReusesSnapshot() {
+        final RatingState state = mEngine.getState();
+        final boolean due = mEngine.shouldRate();
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            assertEquals(due, mEngine.shouldRate());
+            assertSame(state, mEngine.getState());
+        }
+    }
+
+    /**
+     * Checks that the repeated calls to {@link RatingEngine#shouldRate()} do not allocate
+     * while comparing the current time with the next eligible time.
+     */
+    @Test
+    public void shouldRateDoesNotAllocate() {
+        final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+
+        final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        final long thread = Thread.currentThread().getId();
+        boolean due = false;
+        assertEquals(0, mEngine.getLaunchesRemaining());
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            due |= mEngine.shouldRate();
+        }
+
+        final long start = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < ITERATIONS; i++) {
+            due |= mEngine.shouldRate();
+        }
+        final long allocated = threads.getThreadAllocatedBytes(thread) - start;
+
+        assertFalse(due);
+        assertTrue("Allocated " + allocated + " bytes for " + ITERATIONS + " calls.",
+                allocated <= ALLOCATION_NOISE);
+    }
+}
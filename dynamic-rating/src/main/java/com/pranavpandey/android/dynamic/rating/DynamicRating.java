@@ -16,22 +16,64 @@
 
 package com.pranavpandey.android.dynamic.rating;
 
+import android.app.Activity;
 import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
 
+import androidx.annotation.MainThread;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.RestrictTo;
 import androidx.fragment.app.FragmentActivity;
+import androidx.lifecycle.LifecycleOwner;
 
 import com.pranavpandey.android.dynamic.preferences.DynamicPreferences;
+import com.pranavpandey.android.dynamic.rating.clock.RatingClock;
+import com.pranavpandey.android.dynamic.rating.clock.SystemRatingClock;
+import com.pranavpandey.android.dynamic.rating.condition.RatingCondition;
+import com.pranavpandey.android.dynamic.rating.condition.RatingConditions;
 import com.pranavpandey.android.dynamic.rating.dialog.DynamicRatingDialog;
+import com.pranavpandey.android.dynamic.rating.dialog.RatingDialogRegistry;
+import com.pranavpandey.android.dynamic.rating.dialog.RatingDialogScheduler;
+import com.pranavpandey.android.dynamic.rating.dialog.RatingViewCache;
+import com.pranavpandey.android.dynamic.rating.engine.RatingEngine;
+import com.pranavpandey.android.dynamic.rating.interaction.InteractionLog;
+import com.pranavpandey.android.dynamic.rating.interaction.RatingInteraction;
+import com.pranavpandey.android.dynamic.rating.limit.RatingLimiter;
+import com.pranavpandey.android.dynamic.rating.listener.DynamicRatingListener;
+import com.pranavpandey.android.dynamic.rating.listener.EligibilityObserver;
 import com.pranavpandey.android.dynamic.rating.listener.base.RatingListener;
+import com.pranavpandey.android.dynamic.rating.metrics.RatingMetrics;
+import com.pranavpandey.android.dynamic.rating.model.RatingConfig;
+import com.pranavpandey.android.dynamic.rating.model.RatingState;
+import com.pranavpandey.android.dynamic.rating.review.CachedReviewHandoff;
+import com.pranavpandey.android.dynamic.rating.review.ReviewHandoff;
+import com.pranavpandey.android.dynamic.rating.rules.RatingRules;
+import com.pranavpandey.android.dynamic.rating.rules.RatingRulesLoader;
+import com.pranavpandey.android.dynamic.rating.store.InMemoryRatingStore;
+import com.pranavpandey.android.dynamic.rating.store.MultiProcessRatingStore;
+import com.pranavpandey.android.dynamic.rating.store.RatingStore;
+import com.pranavpandey.android.dynamic.rating.store.SharedPreferencesRatingStore;
+import com.pranavpandey.android.dynamic.rating.trace.RatingTrace;
+import com.pranavpandey.android.dynamic.rating.trace.RatingTracer;
 
-import java.util.Date;
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
 
 /**
  * Helper class to handle rating events requested by the app.
  * <p>It must be initialized once before accessing its methods.
+ * <p>The rating conditions are evaluated by the {@link RatingEngine} which does not depend
+ * on the Android framework.
  */
 public class DynamicRating {
 
@@ -41,31 +83,83 @@ public class DynamicRating {
     private static DynamicRating sInstance;
 
     /**
-     * Base key to store and retrieve the data.
+     * Name of the thread to perform the background work.
      */
-    private String mBaseKey;
+    private static final String THREAD_NAME = "DynamicRating-Background";
 
     /**
-     * Minimum no. of days to be passed.
+     * Shared executor to perform the background work.
      */
-    private int mRateInterval;
+    private static volatile Executor sExecutor;
 
     /**
-     * Minimum no. of launch count to be reached.
+     * Parent instance to share the store, clock and other collaborators, {@code null} for
+     * the default instance.
      */
-    private int mRateCount;
+    private final DynamicRating mParent;
 
     /**
-     * Minimum no. of days to be passed after the last reminder.
+     * Map to hold the rating campaigns of this instance.
      */
-    private int mRemindInterval;
+    private final ConcurrentMap<String, DynamicRating> mCampaigns;
+
+    /**
+     * Campaign id for this instance, {@code null} for the default instance.
+     */
+    private final String mCampaign;
+
+    /**
+     * Engine to evaluate the rating conditions and to persist the rating state.
+     */
+    private final RatingEngine mEngine;
+
+    /**
+     * Tracer to receive the timing of the hot paths.
+     */
+    private volatile RatingTracer mTracer;
+
+    /**
+     * Log to record the interactions with the rating dialog.
+     */
+    private volatile InteractionLog mInteractionLog;
+
+    /**
+     * Limiter to restrict the no. of rating dialogs across all the entry points.
+     */
+    private volatile RatingLimiter mLimiter;
+
+    /**
+     * Review handoff to prepare the review flow before the positive rating is selected.
+     */
+    private volatile CachedReviewHandoff<?> mReviewHandoff;
+
+    /**
+     * Handler to check the eligibility once its deadline has passed.
+     */
+    private Handler mDeadlineHandler;
+
+    /**
+     * Runnable to check the eligibility once its deadline has passed.
+     */
+    private final Runnable mDeadlineRunnable = new Runnable() {
+        @Override
+        public void run() {
+            mEngine.checkEligibility();
+        }
+    };
 
     /**
      * Making default constructor private so that it cannot be initialized without a context.
      * <p>Use {@link #getInstance(Context)} instead.
      */
     @RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
-    private DynamicRating() { }
+    private DynamicRating() {
+        this.mParent = null;
+        this.mCampaigns = new ConcurrentHashMap<>();
+        this.mCampaign = null;
+        this.mEngine = new RatingEngine(new InMemoryRatingStore(),
+                SystemRatingClock.getInstance());
+    }
 
     /**
      * Constructor to initialize an object of this class.
@@ -75,9 +169,29 @@ public class DynamicRating {
     private DynamicRating(@NonNull Context context) {
         DynamicPreferences.initializeInstance(context);
 
-        this.mRateInterval = Rating.Default.RATE_INTERVAL;
-        this.mRateCount = Rating.Default.RATE_COUNT;
-        this.mRemindInterval = Rating.Default.REMIND_INTERVAL;
+        this.mParent = null;
+        this.mCampaigns = new ConcurrentHashMap<>();
+        this.mCampaign = null;
+        this.mEngine = new RatingEngine(new SharedPreferencesRatingStore(),
+                SystemRatingClock.getInstance());
+    }
+
+    /**
+     * Constructor to initialize a campaign for the supplied parent.
+     *
+     * @param parent The parent instance to share the store, clock and other collaborators.
+     * @param campaign The campaign id to be used.
+     * @param config The configuration for the rating conditions.
+     */
+    private DynamicRating(@NonNull DynamicRating parent,
+            @NonNull String campaign, @NonNull RatingConfig config) {
+        this.mParent = parent;
+        this.mCampaigns = new ConcurrentHashMap<>();
+        this.mCampaign = campaign;
+        this.mEngine = new RatingEngine(parent.getStore(), parent.getClock(),
+                Rating.Key.BASE + campaign + Rating.Key.SEPARATOR, config);
+        this.mEngine.setPendingPolicy(parent.getPendingPolicy());
+        this.mEngine.setMetrics(parent.getMetrics());
     }
 
     /**
@@ -100,33 +214,263 @@ public class DynamicRating {
         return sInstance;
     }
 
+    /**
+     * Returns the shared executor to perform the background work on a single daemon thread.
+     * <p>It will be created when it is accessed for the first time.
+     *
+     * @return The shared executor to perform the background work.
+     */
+    public static @NonNull Executor getExecutor() {
+        Executor executor = sExecutor;
+
+        if (executor == null) {
+            synchronized (DynamicRating.class) {
+                executor = sExecutor;
+
+                if (executor == null) {
+                    executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                        @Override
+                        public Thread newThread(@NonNull Runnable runnable) {
+                            final Thread thread = new Thread(runnable, THREAD_NAME);
+                            thread.setDaemon(true);
+
+                            return thread;
+                        }
+                    });
+                    sExecutor = executor;
+                }
+            }
+        }
+
+        return executor;
+    }
+
+    /**
+     * Retrieves the rating campaign for the supplied id.
+     * <p>Each campaign has its own base key and rating conditions, so it can be checked
+     * independently of the other campaigns. It will be created with the default rating
+     * conditions if it does not exist.
+     * <p>The campaigns always use the store, clock, metrics and pending policy of this
+     * instance along with its tracer, limiter, review handoff and interactions log unless
+     * they have been set for the campaign.
+     *
+     * @param id The campaign id to be retrieved.
+     *
+     * @return The rating campaign for the supplied id.
+     */
+    public @NonNull DynamicRating forCampaign(@NonNull String id) {
+        return getCampaign(id, null);
+    }
+
+    /**
+     * Retrieves the rating campaign for the supplied id and sets its rating conditions.
+     * <p>Each campaign has its own base key and rating conditions, so it can be checked
+     * independently of the other campaigns. It will be created if it does not exist.
+     * <p>The campaigns always use the store, clock, metrics and pending policy of this
+     * instance along with its tracer, limiter, review handoff and interactions log unless
+     * they have been set for the campaign.
+     *
+     * @param id The campaign id to be retrieved.
+     * @param config The rating conditions to be set for the campaign.
+     *
+     * @return The rating campaign for the supplied id.
+     */
+    public @NonNull DynamicRating forCampaign(@NonNull String id, @NonNull RatingConfig config) {
+        return getCampaign(id, config);
+    }
+
+    /**
+     * Retrieves the rating campaign for the supplied id from the default instance and
+     * creates it if it does not exist.
+     *
+     * @param id The campaign id to be retrieved.
+     * @param config The rating conditions to be set, {@code null} to keep the existing ones.
+     *
+     * @return The rating campaign for the supplied id.
+     */
+    private @NonNull DynamicRating getCampaign(@NonNull String id,
+            @Nullable RatingConfig config) {
+        if (mParent != null) {
+            return mParent.getCampaign(id, config);
+        }
+
+        DynamicRating campaign = mCampaigns.get(id);
+
+        if (campaign == null) {
+            final DynamicRating created = new DynamicRating(this, id,
+                    config != null ? config : RatingConfig.DEFAULT);
+            campaign = mCampaigns.putIfAbsent(id, created);
+
+            if (campaign == null) {
+                return created;
+            }
+        }
+
+        if (config != null && campaign.getConfig() != config) {
+            campaign.setConfig(config);
+        }
+
+        return campaign;
+    }
+
+    /**
+     * Returns the campaign id for this instance.
+     *
+     * @return The campaign id for this instance, or {@code null} for the default instance.
+     */
+    public @Nullable String getCampaign() {
+        return mCampaign;
+    }
+
+    /**
+     * Returns the engine to evaluate the rating conditions and to persist the rating state.
+     *
+     * @return The engine to evaluate the rating conditions and to persist the rating state.
+     */
+    public @NonNull RatingEngine getEngine() {
+        return mEngine;
+    }
+
     /**
      * Initialize the dynamic rating.
+     * <p>It is safe to call it from multiple threads, the first launch date and the launch
+     * count are updated atomically in memory and then persisted to the store.
      *
      * @return The {@link DynamicRating} object to allow for chaining of calls to set methods.
      */
     public @NonNull DynamicRating initialize() {
-        if (isFirstLaunch()) {
-            setFirstLaunch(System.currentTimeMillis());
-        }
+        final RatingTracer tracer = getTracer();
+        final long start = RatingTrace.begin(Rating.Trace.INITIALIZE, tracer);
 
-        if (isRequest()) {
-            setLaunchCount(getLaunchCount() + 1);
+        try {
+            mEngine.initialize();
+            loadLimiter();
+        } finally {
+            RatingTrace.end(Rating.Trace.INITIALIZE, tracer, start);
         }
 
         return this;
     }
 
     /**
-     * Checks whether the supplied date is due against the current date.
+     * Initialize the dynamic rating asynchronously on the supplied executor.
+     * <p>The rating conditions will wait for or skip the pending initialization according
+     * to the {@link #getPendingPolicy()}.
+     *
+     * @param executor The executor to perform the initialization.
+     *
+     * @return The future to track the pending initialization.
+     *
+     * @see #initialize()
+     */
+    public @NonNull Future<DynamicRating> initializeAsync(@NonNull Executor executor) {
+        return submitInitialize(executor, null);
+    }
+
+    /**
+     * Initialize the dynamic rating asynchronously on the supplied executor.
+     * <p>The rating conditions will wait for or skip the pending initialization according
+     * to the {@link #getPendingPolicy()}.
+     *
+     * @param executor The executor to perform the initialization.
+     * @param callback The callback to be notified on the executor thread after the
+     *                 initialization is complete.
+     *
+     * @return The {@link DynamicRating} object to allow for chaining of calls to set methods.
+     *
+     * @see #initialize()
+     */
+    public @NonNull DynamicRating initializeAsync(@NonNull Executor executor,
+            @Nullable Callback callback) {
+        submitInitialize(executor, callback);
+
+        return this;
+    }
+
+    /**
+     * Submit the initialization to the supplied executor and track it as pending.
+     *
+     * @param executor The executor to perform the initialization.
+     * @param callback The callback to be notified after the initialization is complete.
+     *
+     * @return The future to track the initialization.
+     */
+    private @NonNull Future<DynamicRating> submitInitialize(@NonNull Executor executor,
+            final @Nullable Callback callback) {
+        return mEngine.initializeAsync(executor, new Callable<DynamicRating>() {
+            @Override
+            public DynamicRating call() {
+                loadLimiter();
+
+                if (callback != null) {
+                    callback.onInitialized(DynamicRating.this);
+                }
+
+                return DynamicRating.this;
+            }
+        });
+    }
+
+    /**
+     * Pre-load the rating state from the store on the supplied executor.
+     * <p>It does not modify the rating state, so the rating conditions can be checked
+     * from the memory when the dynamic rating is initialized later.
+     *
+     * @param executor The executor to pre-load the rating state.
+     *
+     * @return The {@link DynamicRating} object to allow for chaining of calls to set methods.
+     *
+     * @see com.pranavpandey.android.dynamic.rating.startup.DynamicRatingInitializer
+     */
+    public @NonNull DynamicRating preload(@NonNull Executor executor) {
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                final RatingTracer tracer = getTracer();
+                final long start = RatingTrace.begin(Rating.Trace.PRELOAD, tracer);
+
+                try {
+                    mEngine.getState();
+                    loadLimiter();
+                } finally {
+                    RatingTrace.end(Rating.Trace.PRELOAD, tracer, start);
+                }
+            }
+        });
+
+        return this;
+    }
+
+    /**
+     * Returns the policy for the pending asynchronous initialization.
      *
-     * @param millis The date to be checked.
-     * @param threshold The threshold to be met.
+     * @return The policy for the pending asynchronous initialization.
      *
-     * @return {@code true} if the supplied date is due against the current date.
+     * @see Rating.Pending
      */
-    private boolean isDueDate(long millis, int threshold) {
-        return new Date().getTime() - millis >= threshold * 24 * 60 * 60 * 1000L;
+    public int getPendingPolicy() {
+        return mEngine.getPendingPolicy();
+    }
+
+    /**
+     * Sets the policy for the pending asynchronous initialization.
+     * <p>The default {@link Rating.Pending#SKIP} policy never blocks the calling thread,
+     * while {@link Rating.Pending#WAIT} blocks it and should not be used on the main thread.
+     *
+     * @param policy The policy to be set.
+     *
+     * @return The {@link DynamicRating} object to allow for chaining of calls to set methods.
+     *
+     * @see Rating.Pending
+     */
+    public @NonNull DynamicRating setPendingPolicy(int policy) {
+        mEngine.setPendingPolicy(policy);
+
+        for (DynamicRating campaign : mCampaigns.values()) {
+            campaign.setPendingPolicy(policy);
+        }
+
+        return this;
     }
 
     /**
@@ -135,7 +479,7 @@ public class DynamicRating {
      * @return The base to store and retrieve the data.
      */
     public @NonNull String getBaseKey() {
-        return mBaseKey != null ? mBaseKey : Rating.Key.BASE;
+        return mEngine.getBaseKey();
     }
 
     /**
@@ -146,7 +490,403 @@ public class DynamicRating {
      * @return The {@link DynamicRating} object to allow for chaining of calls to set methods.
      */
     public @NonNull DynamicRating setBaseKey(@Nullable String baseKey) {
-        this.mBaseKey = baseKey;
+        mEngine.setBaseKey(baseKey);
+
+        return this;
+    }
+
+    /**
+     * Returns the clock to provide the current time.
+     *
+     * @return The clock to provide the current time.
+     */
+    public @NonNull RatingClock getClock() {
+        return mEngine.getClock();
+    }
+
+    /**
+     * Sets the clock to provide the current time.
+     *
+     * @param clock The clock to be set.
+     *
+     * @return The {@link DynamicRating} object to allow for chaining of calls to set methods.
+     *
+     * @see SystemRatingClock
+     * @see com.pranavpandey.android.dynamic.rating.clock.ManualRatingClock
+     */
+    public @NonNull DynamicRating setClock(@NonNull RatingClock clock) {
+        mEngine.setClock(clock);
+
+        for (DynamicRating campaign : mCampaigns.values()) {
+            campaign.setClock(clock);
+        }
+
+        return this;
+    }
+
+    /**
+     * Returns the store to persist the rating data.
+     *
+     * @return The store to persist the rating data.
+     */
+    public @NonNull RatingStore getStore() {
+        return mEngine.getStore();
+    }
+
+    /**
+     * Sets the store to persist the rating data.
+     * <p>The rating state will be reloaded from the supplied store.
+     *
+     * @param store The store to be set.
+     *
+     * @return The {@link DynamicRating} object to allow for chaining of calls to set methods.
+     *
+     * @see SharedPreferencesRatingStore
+     * @see com.pranavpandey.android.dynamic.rating.store.InMemoryRatingStore
+     * @see com.pranavpandey.android.dynamic.rating.store.AsyncRatingStore
+     */
+    public @NonNull DynamicRating setStore(@NonNull RatingStore store) {
+        mEngine.setStore(store);
+
+        for (DynamicRating campaign : mCampaigns.values()) {
+            campaign.setStore(store);
+        }
+
+        return this;
+    }
+
+    /**
+     * Sets a store to share the rating data between all the processes of the app.
+     * <p>The existing data in the shared preferences will be used as a fallback until it is
+     * modified by any of the processes.
+     *
+     * @param context The context to retrieve the files directory.
+     *
+     * @return The {@link DynamicRating} object to allow for chaining of calls to set methods.
+     *
+     * @see MultiProcessRatingStore
+     * @see Rating#FILE
+     */
+    public @NonNull DynamicRating setMultiProcess(@NonNull Context context) {
+        return setStore(new MultiProcessRatingStore(new File(context.getFilesDir(), Rating.FILE),
+                new SharedPreferencesRatingStore()));
+    }
+
+    /**
+     * Returns the metrics to record the rating checks, the latency and the prompt funnel.
+     *
+     * @return The metrics to record the rating checks, the latency and the prompt funnel.
+     */
+    public @NonNull RatingMetrics getMetrics() {
+        return mEngine.getMetrics();
+    }
+
+    /**
+     * Sets the metrics to record the rating checks, the latency and the prompt funnel.
+     *
+     * @param metrics The metrics to be set, {@code null} to disable the metrics.
+     *
+     * @return The {@link DynamicRating} object to allow for chaining of calls to set methods.
+     *
+     * @see com.pranavpandey.android.dynamic.rating.metrics.InMemoryRatingMetrics
+     */
+    public @NonNull DynamicRating setMetrics(@Nullable RatingMetrics metrics) {
+        mEngine.setMetrics(metrics);
+
+        for (DynamicRating campaign : mCampaigns.values()) {
+            campaign.setMetrics(metrics);
+        }
+
+        return this;
+    }
+
+    /**
+     * Returns the tracer to receive the timing of the hot paths.
+     *
+     * @return The tracer to receive the timing of the hot paths.
+     */
+    public @Nullable RatingTracer getTracer() {
+        final RatingTracer tracer = mTracer;
+
+        return tracer != null || mParent == null ? tracer : mParent.getTracer();
+    }
+
+    /**
+     * Sets the tracer to receive the timing of the hot paths.
+     * <p>The hot paths are always wrapped in the system trace sections, the tracer can be
+     * used to report their timing to a custom pipeline.
+     * <p>The campaigns will use the same tracer unless it has been set for them.
+     *
+     * @param tracer The tracer to be set, {@code null} to remove it.
+     *
+     * @return The {@link DynamicRating} object to allow for chaining of calls to set methods.
+     *
+     * @see Rating.Trace
+     */
+    public @NonNull DynamicRating setTracer(@Nullable RatingTracer tracer) {
+        this.mTracer = tracer;
+
+        return this;
+    }
+
+    /**
+     * Returns the limiter to restrict the no. of rating dialogs across all the entry points.
+     *
+     * @return The limiter to restrict the no. of rating dialogs, {@code null} if the
+     *         rating dialogs are not limited.
+     */
+    public @Nullable RatingLimiter getLimiter() {
+        final RatingLimiter limiter = mLimiter;
+
+        return limiter != null || mParent == null ? limiter : mParent.getLimiter();
+    }
+
+    /**
+     * Sets the limiter to restrict the no. of automatic rating dialogs across all the
+     * entry points.
+     * <p>The rating dialogs are not limited by default and the dialogs shown explicitly
+     * are never limited.
+     * <p>The campaigns will share the same limiter unless it has been set for them.
+     *
+     * @param limiter The limiter to be set, {@code null} to remove the limit.
+     *
+     * @return The {@link DynamicRating} object to allow for chaining of calls to set methods.
+     */
+    public @NonNull DynamicRating setLimiter(@Nullable RatingLimiter limiter) {
+        this.mLimiter = limiter;
+
+        return this;
+    }
+
+    /**
+     * Sets a limiter to allow the supplied no. of rating dialogs within a period.
+     *
+     * @param capacity The maximum no. of rating dialogs within a period.
+     * @param period The period in milliseconds to refill a dialog.
+     *
+     * @return The {@link DynamicRating} object to allow for chaining of calls to set methods.
+     *
+     * @see #setLimiter(RatingLimiter)
+     */
+    public @NonNull DynamicRating setLimiter(int capacity, long period) {
+        return setLimiter(new RatingLimiter(mEngine, capacity, period));
+    }
+
+    /**
+     * Load the state of the limiter along with the rating state, so it is not read from the
+     * store when the rating dialog is requested.
+     */
+    private void loadLimiter() {
+        final RatingLimiter limiter = getLimiter();
+
+        if (limiter != null) {
+            limiter.load();
+        }
+    }
+
+    /**
+     * Checks whether an automatic rating dialog is allowed by the limiter.
+     * <p>It is always allowed if there is no limiter, the dialogs shown explicitly by
+     * {@link #showRateDialog(RatingListener, FragmentActivity)} are never limited.
+     *
+     * @return {@code true} if an automatic rating dialog is allowed by the limiter.
+     *
+     * @see #getLimiter()
+     */
+    public boolean isPromptAllowed() {
+        final RatingLimiter limiter = getLimiter();
+
+        return limiter == null || limiter.isAllowed();
+    }
+
+    /**
+     * Returns the review handoff to prepare the review flow before the positive rating
+     * is selected.
+     *
+     * @return The review handoff, {@code null} if the positive rating is not handed off.
+     */
+    public @Nullable CachedReviewHandoff<?> getReviewHandoff() {
+        final CachedReviewHandoff<?> reviewHandoff = mReviewHandoff;
+
+        return reviewHandoff != null || mParent == null
+                ? reviewHandoff : mParent.getReviewHandoff();
+    }
+
+    /**
+     * Sets the review handoff to prepare the review flow before the positive rating
+     * is selected.
+     * <p>It will be prepared in the background when the rating conditions are met or the
+     * rating dialog is shown and launched by the {@link DynamicRatingListener} instead of
+     * calling {@link DynamicRatingListener#onRate(float)}.
+     * <p>The campaigns will use the same handoff unless it has been set for them.
+     *
+     * @param reviewHandoff The review handoff to be set, {@code null} to remove it.
+     *
+     * @return The {@link DynamicRating} object to allow for chaining of calls to set methods.
+     */
+    public @NonNull DynamicRating setReviewHandoff(
+            @Nullable CachedReviewHandoff<?> reviewHandoff) {
+        this.mReviewHandoff = reviewHandoff;
+
+        return this;
+    }
+
+    /**
+     * Sets the review handoff to prepare the review flow on the shared executor.
+     *
+     * @param context The context to prepare the review request.
+     * @param reviewHandoff The review handoff to be set.
+     *
+     * @return The {@link DynamicRating} object to allow for chaining of calls to set methods.
+     *
+     * @see #getExecutor()
+     * @see #setReviewHandoff(Context, ReviewHandoff, Executor)
+     */
+    public @NonNull DynamicRating setReviewHandoff(@NonNull Context context,
+            @NonNull ReviewHandoff<?> reviewHandoff) {
+        return setReviewHandoff(context, reviewHandoff, getExecutor());
+    }
+
+    /**
+     * Sets the review handoff to prepare the review flow on the supplied executor.
+     *
+     * @param context The context to prepare the review request.
+     * @param reviewHandoff The review handoff to be set.
+     * @param executor The executor to prepare the review request.
+     *
+     * @return The {@link DynamicRating} object to allow for chaining of calls to set methods.
+     *
+     * @see #setReviewHandoff(CachedReviewHandoff)
+     */
+    public @NonNull DynamicRating setReviewHandoff(@NonNull Context context,
+            @NonNull ReviewHandoff<?> reviewHandoff, @NonNull Executor executor) {
+        return setReviewHandoff(new CachedReviewHandoff<>(context, reviewHandoff,
+                executor, Rating.Default.REVIEW_TTL, getClock()));
+    }
+
+    /**
+     * Start preparing the review request in the background if the review handoff is set.
+     */
+    public void prefetchReview() {
+        final CachedReviewHandoff<?> reviewHandoff = getReviewHandoff();
+
+        if (reviewHandoff != null) {
+            reviewHandoff.prefetch();
+        }
+    }
+
+    /**
+     * Launch the review flow with the prepared request if the review handoff is set.
+     *
+     * @param activity The activity to launch the review flow.
+     *
+     * @return {@code true} if the review flow has been launched.
+     */
+    @MainThread
+    public boolean handoffReview(@NonNull Activity activity) {
+        final CachedReviewHandoff<?> reviewHandoff = getReviewHandoff();
+
+        return reviewHandoff != null && reviewHandoff.handoff(activity);
+    }
+
+    /**
+     * Returns the log to record the interactions with the rating dialog.
+     *
+     * @return The log to record the interactions with the rating dialog, {@code null} if
+     *         the interactions are not recorded.
+     */
+    public @Nullable InteractionLog getInteractionLog() {
+        final InteractionLog interactionLog = mInteractionLog;
+
+        return interactionLog != null || mParent == null
+                ? interactionLog : mParent.getInteractionLog();
+    }
+
+    /**
+     * Sets the log to record the interactions with the rating dialog.
+     * <p>The campaigns will use the same log unless it has been set for them.
+     *
+     * @param interactionLog The log to be set, {@code null} to stop recording.
+     *
+     * @return The {@link DynamicRating} object to allow for chaining of calls to set methods.
+     */
+    public @NonNull DynamicRating setInteractionLog(@Nullable InteractionLog interactionLog) {
+        this.mInteractionLog = interactionLog;
+
+        return this;
+    }
+
+    /**
+     * Sets a log to record the interactions with the rating dialog in the files directory.
+     * <p>The records will be written on the shared executor.
+     *
+     * @param context The context to retrieve the files directory.
+     *
+     * @return The {@link DynamicRating} object to allow for chaining of calls to set methods.
+     *
+     * @see #getExecutor()
+     * @see Rating#INTERACTIONS
+     */
+    public @NonNull DynamicRating setInteractionLog(@NonNull Context context) {
+        return setInteractionLog(new InteractionLog(
+                new File(context.getFilesDir(), Rating.INTERACTIONS), getExecutor()));
+    }
+
+    /**
+     * Record an interaction with the rating dialog if the log is set.
+     *
+     * @param type The type of the interaction.
+     * @param rating The rating selected in the dialog.
+     *
+     * @see Rating.Interaction
+     */
+    public void logInteraction(int type, float rating) {
+        final InteractionLog interactionLog = getInteractionLog();
+
+        if (interactionLog != null) {
+            interactionLog.append(getClock().currentTimeMillis(), type, rating,
+                    RatingInteraction.getCampaignId(mCampaign));
+        }
+    }
+
+    /**
+     * Returns the in-memory snapshot of the rating state.
+     * <p>It will be loaded from the store if not available.
+     *
+     * @return The in-memory snapshot of the rating state.
+     */
+    public @NonNull RatingState getState() {
+        return mEngine.getState();
+    }
+
+    /**
+     * Reload the rating state from the store.
+     * <p>It should be called if the store has been modified outside of this class.
+     *
+     * @return The reloaded rating state.
+     */
+    public @NonNull RatingState reload() {
+        return mEngine.reload();
+    }
+
+    /**
+     * Returns the configuration for the rating conditions.
+     *
+     * @return The configuration for the rating conditions.
+     */
+    public @NonNull RatingConfig getConfig() {
+        return mEngine.getConfig();
+    }
+
+    /**
+     * Sets the configuration for the rating conditions.
+     *
+     * @param config The configuration to be set.
+     *
+     * @return The {@link DynamicRating} object to allow for chaining of calls to set methods.
+     */
+    public @NonNull DynamicRating setConfig(@NonNull RatingConfig config) {
+        mEngine.setConfig(config);
 
         return this;
     }
@@ -159,7 +899,7 @@ public class DynamicRating {
      * @return The {@link DynamicRating} object to allow for chaining of calls to set methods.
      */
     public @NonNull DynamicRating setRateInterval(int interval) {
-        this.mRateInterval = interval;
+        mEngine.setRateInterval(interval);
 
         return this;
     }
@@ -172,7 +912,7 @@ public class DynamicRating {
      * @return The {@link DynamicRating} object to allow for chaining of calls to set methods.
      */
     public @NonNull DynamicRating setRateCount(int count) {
-        this.mRateCount = count;
+        mEngine.setRateCount(count);
 
         return this;
     }
@@ -185,7 +925,7 @@ public class DynamicRating {
      * @return The {@link DynamicRating} object to allow for chaining of calls to set methods.
      */
     public @NonNull DynamicRating setRemindInterval(int interval) {
-        this.mRemindInterval = interval;
+        mEngine.setRemindInterval(interval);
 
         return this;
     }
@@ -196,7 +936,7 @@ public class DynamicRating {
      * @return {@code true} if the dynamic rating is initialized for the first time.
      */
     public boolean isFirstLaunch() {
-        return getFirstLaunch() == Rating.Value.FIRST_LAUNCH;
+        return mEngine.isFirstLaunch();
     }
 
     /**
@@ -205,7 +945,7 @@ public class DynamicRating {
      * @return {@code true} if the rating interval conditions are met.
      */
     public boolean isDueRating() {
-        return isDueDate(getFirstLaunch(), mRateInterval);
+        return mEngine.isDueRating();
     }
 
     /**
@@ -214,7 +954,7 @@ public class DynamicRating {
      * @return {@code true} if the launch count conditions are met.
      */
     public boolean isDueCount() {
-        return getLaunchCount() >= mRateCount;
+        return mEngine.isDueCount();
     }
 
     /**
@@ -223,177 +963,417 @@ public class DynamicRating {
      * @return {@code true} if the reminder conditions are met.
      */
     public boolean isDueReminder() {
-        return isDueDate(getLastReminder(), mRemindInterval);
+        return mEngine.isDueReminder();
     }
 
     /**
      * Checks whether all the rating conditions are met.
+     * <p>It will start preparing the review handoff if the rating conditions are met.
      *
      * @return {@code true} if all the rating conditions are met.
+     *
+     * @see #getReviewHandoff()
      */
     public boolean shouldRate() {
-        return isRequest() && isDueRating() && isDueCount() && isDueReminder();
+        final RatingTracer tracer = getTracer();
+        final long start = RatingTrace.begin(Rating.Trace.SHOULD_RATE, tracer);
+        final boolean shouldRate;
+
+        try {
+            shouldRate = mEngine.shouldRate();
+        } finally {
+            RatingTrace.end(Rating.Trace.SHOULD_RATE, tracer, start);
+        }
+
+        if (shouldRate) {
+            prefetchReview();
+        }
+
+        return shouldRate;
     }
 
     /**
-     * Show the {@link DynamicRatingDialog} if all the rating conditions are met.
+     * Observe the eligibility to show the rating dialog instead of polling
+     * {@link #shouldRate()}.
+     * <p>The listener will be called on the main thread with the current eligibility and
+     * then only when it is changed while the owner is at least started. A single timer
+     * will be scheduled to check the eligibility once its deadline has passed.
+     *
+     * @param owner The lifecycle owner to observe the eligibility until destroyed.
+     * @param listener The listener to receive the eligibility.
+     *
+     * @return The observer to stop observing the eligibility.
+     */
+    @MainThread
+    public @NonNull EligibilityObserver observeEligibility(@NonNull LifecycleOwner owner,
+            @NonNull RatingEngine.OnEligibilityChangedListener listener) {
+        if (mDeadlineHandler == null) {
+            mDeadlineHandler = new Handler(Looper.getMainLooper());
+            mEngine.setOnDeadlineChangedListener(new RatingEngine.OnDeadlineChangedListener() {
+                @Override
+                public void onDeadlineChanged(long time) {
+                    mDeadlineHandler.removeCallbacks(mDeadlineRunnable);
+
+                    if (time != Long.MAX_VALUE) {
+                        mDeadlineHandler.postDelayed(mDeadlineRunnable, Math.max(0L,
+                                time - getClock().currentTimeMillis()));
+                    }
+                }
+            });
+        }
+
+        return new EligibilityObserver(mEngine, owner, listener).observe();
+    }
+
+    /**
+     * Returns the rating conditions in the order of evaluation.
+     *
+     * @return The rating conditions in the order of evaluation.
+     */
+    public @NonNull List<RatingCondition> getConditions() {
+        return mEngine.getConditions();
+    }
+
+    /**
+     * Sets the rating conditions to be met to request the rating.
+     * <p>They will be evaluated in the ascending order of their cost and the evaluation
+     * stops at the first condition that is not met.
+     *
+     * @param conditions The rating conditions to be set, {@code null} to use the built-in
+     *                   conditions.
+     *
+     * @return The {@link DynamicRating} object to allow for chaining of calls to set methods.
+     *
+     * @see RatingConditions#withDefaults(RatingCondition...)
+     */
+    public @NonNull DynamicRating setConditions(@Nullable List<RatingCondition> conditions) {
+        mEngine.setConditions(conditions);
+
+        return this;
+    }
+
+    /**
+     * Sets the compiled rating rules to replace the rating configuration and conditions.
+     *
+     * @param rules The rating rules to be set.
+     *
+     * @return The {@link DynamicRating} object to allow for chaining of calls to set methods.
+     *
+     * @see RatingRulesLoader
+     */
+    public @NonNull DynamicRating setRules(@NonNull RatingRules rules) {
+        mEngine.setRules(rules);
+
+        return this;
+    }
+
+    /**
+     * Load the rating rules from the supplied JSON asset on the executor and set them once
+     * they are loaded.
+     * <p>The current rating conditions will be used until the rules are loaded and will be
+     * retained if the rules cannot be loaded.
+     *
+     * @param context The context to retrieve the assets and the cache directory.
+     * @param asset The path of the JSON asset.
+     * @param executor The executor to load the rules.
+     *
+     * @return The future to track the loaded rules.
+     *
+     * @see RatingRulesLoader#load(Context, String)
+     */
+    public @NonNull Future<RatingRules> loadRules(final @NonNull Context context,
+            final @NonNull String asset, @NonNull Executor executor) {
+        final FutureTask<RatingRules> task = new FutureTask<>(new Callable<RatingRules>() {
+            @Override
+            public RatingRules call() throws Exception {
+                final RatingRules rules = RatingRulesLoader.load(context, asset);
+                setRules(rules);
+
+                return rules;
+            }
+        });
+
+        executor.execute(task);
+        return task;
+    }
+
+    /**
+     * Invalidate the cached results of the pure rating conditions.
+     * <p>It should be called if the data used by a custom pure condition has been changed.
+     *
+     * @return The {@link DynamicRating} object to allow for chaining of calls to set methods.
+     */
+    public @NonNull DynamicRating invalidateConditions() {
+        mEngine.invalidateConditions();
+
+        return this;
+    }
+
+    /**
+     * Returns the time after which the rating interval and reminder conditions will be met.
+     * <p>It can be used to schedule the rating request instead of checking it repeatedly.
+     *
+     * @return The time after which the rating interval and reminder conditions will be met,
+     *         or {@link Long#MAX_VALUE} if the rating is not requested.
+     *
+     * @see #getLaunchesRemaining()
+     */
+    public long getNextEligibleTime() {
+        return mEngine.getNextEligibleTime();
+    }
+
+    /**
+     * Returns the no. of launches remaining to meet the launch count condition.
+     *
+     * @return The no. of launches remaining to meet the launch count condition.
+     */
+    public int getLaunchesRemaining() {
+        return mEngine.getLaunchesRemaining();
+    }
+
+    /**
+     * Checks whether the rating conditions will be met within the supplied no. of days
+     * and the next launch.
+     *
+     * @param days The no. of days to be checked.
+     *
+     * @return {@code true} if the rating conditions will be met within the supplied no. of
+     *         days and the next launch.
+     */
+    public boolean isDueWithin(int days) {
+        return mEngine.isDueWithin(days);
+    }
+
+    /**
+     * Prepare the {@link DynamicRatingDialog} view ahead of time if the rating conditions
+     * are about to be met.
+     * <p>The view will be inflated asynchronously and reused by the dialog if it is shown
+     * in the same activity with the same configuration.
      *
-     * @param ratingListener The rating listener for the dialog.
      * @param fragmentActivity The fragment activity to show the dialog.
      *
-     * @return {@code true} if all the rating conditions are met and the dialog is shown.
+     * @return {@code true} if the rating conditions are about to be met and the view is
+     *         being prepared.
+     *
+     * @see Rating.Default#PREWARM_INTERVAL
+     * @see RatingViewCache
      */
-    public boolean shouldRateDialog(@Nullable RatingListener ratingListener,
-            @Nullable FragmentActivity fragmentActivity) {
-        if (ratingListener == null || fragmentActivity == null || !shouldRate()) {
+    @MainThread
+    public boolean prewarmDialog(@Nullable FragmentActivity fragmentActivity) {
+        if (fragmentActivity == null || !isDueWithin(Rating.Default.PREWARM_INTERVAL)) {
             return false;
         }
 
-        showRateDialog(ratingListener, fragmentActivity);
+        RatingViewCache.prewarm(fragmentActivity);
         return true;
     }
 
     /**
-     * Show the {@link DynamicRatingDialog} for the supplied parameters.
+     * Show the {@link DynamicRatingDialog} if all the rating conditions are met and it is
+     * allowed by the limiter.
      *
      * @param ratingListener The rating listener for the dialog.
      * @param fragmentActivity The fragment activity to show the dialog.
+     *
+     * @return {@code true} if all the rating conditions are met and the dialog is shown.
+     *
+     * @see #isPromptAllowed()
      */
-    public void showRateDialog(@Nullable RatingListener ratingListener,
+    public boolean shouldRateDialog(@Nullable RatingListener ratingListener,
             @Nullable FragmentActivity fragmentActivity) {
-        if (ratingListener == null || fragmentActivity == null) {
-            return;
+        if (ratingListener == null || fragmentActivity == null
+                || !isPromptAllowed() || !shouldRate()) {
+            return false;
+        }
+
+        showRateDialog(ratingListener, fragmentActivity);
+
+        final RatingLimiter limiter = getLimiter();
+        if (limiter != null) {
+            limiter.tryAcquire();
         }
 
-        DynamicRatingDialog.newInstance().setDynamicRatingListener(
-                ratingListener).showDialog(fragmentActivity);
+        return true;
     }
 
     /**
-     * Returns the key concatenated with the base key.
+     * Schedule the {@link DynamicRatingDialog} to be shown when the main thread is idle
+     * if all the rating conditions are met.
      *
-     * @param key The key to be concatenated.
+     * @param ratingListener The rating listener for the dialog.
+     * @param fragmentActivity The fragment activity to show the dialog.
      *
-     * @return The key concatenated with the base key.
+     * @return The scheduler to cancel the dialog, or {@code null} if the rating conditions
+     *         are not met or the dialog is not allowed by the limiter.
+     *
+     * @see #scheduleRateDialog(RatingListener, FragmentActivity, long)
      */
-    public @NonNull String getKey(@NonNull String key) {
-        return getBaseKey() + key;
+    @MainThread
+    public @Nullable RatingDialogScheduler scheduleRateDialog(
+            @Nullable RatingListener ratingListener,
+            @Nullable FragmentActivity fragmentActivity) {
+        return scheduleRateDialog(ratingListener, fragmentActivity,
+                Rating.Default.SCHEDULE_DELAY);
     }
 
     /**
-     * Set the reminder conditions for the next launch.
+     * Schedule the {@link DynamicRatingDialog} to be shown when the main thread is idle
+     * if all the rating conditions are met.
+     * <p>It will wait for the minimum delay after the activity has been resumed and then
+     * for the main looper to become idle. It will be cancelled automatically if the activity
+     * is stopped before showing the dialog.
      *
-     * @param remind {@code true} if to set the reminder.
+     * @param ratingListener The rating listener for the dialog.
+     * @param fragmentActivity The fragment activity to show the dialog.
+     * @param delay The minimum delay in milliseconds after the activity has been resumed.
+     *
+     * @return The scheduler to cancel the dialog, or {@code null} if the rating conditions
+     *         are not met or the dialog is not allowed by the limiter.
      */
-    public void setReminder(boolean remind) {
-        setRequest(remind);
-        setLastReminder(System.currentTimeMillis());
-        DynamicPreferences.getInstance().delete(
-                Rating.PREFS, getKey(Rating.Key.LAUNCH_COUNT));
-
-        if (!remind) {
-            DynamicPreferences.getInstance().delete(
-                    Rating.PREFS, getKey(Rating.Key.LAST_REMINDER));
+    @MainThread
+    public @Nullable RatingDialogScheduler scheduleRateDialog(
+            @Nullable RatingListener ratingListener,
+            @Nullable FragmentActivity fragmentActivity, long delay) {
+        if (ratingListener == null || fragmentActivity == null
+                || !isPromptAllowed() || !shouldRate()) {
+            return null;
         }
-    }
 
-    /**
-     * Returns the first launch date in milliseconds.
-     *
-     * @return The first launch date in milliseconds.
-     */
-    private long getFirstLaunch() {
-        return DynamicPreferences.getInstance().load(Rating.PREFS,
-                getKey(Rating.Key.FIRST_LAUNCH), Rating.Value.FIRST_LAUNCH);
+        return new RatingDialogScheduler(this, ratingListener,
+                fragmentActivity, delay).schedule();
     }
 
     /**
-     * Set the first launch date in milliseconds.
+     * Replace the listener of the {@link DynamicRatingDialog} retained across the
+     * configuration changes.
+     * <p>It should be called after the activity has been recreated if the listener refers
+     * to the activity, the dialog will reattach to it when its view is created.
      *
-     * @param millis The date to be set.
+     * @param ratingListener The rating listener to be set.
+     * @param fragmentActivity The recreated fragment activity showing the dialog.
+     *
+     * @return {@code true} if the dialog is shown and its listener is replaced.
+     *
+     * @see RatingDialogRegistry
      */
-    private void setFirstLaunch(long millis) {
-        DynamicPreferences.getInstance().save(Rating.PREFS,
-                getKey(Rating.Key.FIRST_LAUNCH), millis);
+    @MainThread
+    public boolean setRateDialogListener(@Nullable RatingListener ratingListener,
+            @NonNull FragmentActivity fragmentActivity) {
+        return RatingDialogRegistry.get(fragmentActivity).setRatingListener(
+                RatingDialogRegistry.getKey(mCampaign), ratingListener);
     }
 
     /**
-     * Returns the last launch date in milliseconds.
+     * Show the {@link DynamicRatingDialog} for the supplied parameters.
+     * <p>It is not limited by the limiter as it has been requested explicitly.
      *
-     * @return The last launch date in milliseconds.
+     * @param ratingListener The rating listener for the dialog.
+     * @param fragmentActivity The fragment activity to show the dialog.
      */
-    private long getLastLaunch() {
-        return DynamicPreferences.getInstance().load(Rating.PREFS,
-                getKey(Rating.Key.LAST_LAUNCH), Rating.Value.LAST_LAUNCH);
+    public void showRateDialog(@Nullable RatingListener ratingListener,
+            @Nullable FragmentActivity fragmentActivity) {
+        if (ratingListener == null || fragmentActivity == null) {
+            return;
+        }
+
+        prefetchReview();
+        DynamicRatingDialog.newInstance().setCampaign(mCampaign)
+                .setDynamicRatingListener(ratingListener)
+                .setRatingMetrics(getMetrics()).setRatingTracer(getTracer())
+                .showDialog(fragmentActivity);
     }
 
     /**
-     * Set the last launch date in milliseconds.
+     * Returns the key concatenated with the base key.
+     *
+     * @param key The key to be concatenated.
      *
-     * @param millis The date to be set.
+     * @return The key concatenated with the base key.
      */
-    private void setLastLaunch(long millis) {
-        DynamicPreferences.getInstance().save(Rating.PREFS,
-                getKey(Rating.Key.LAST_LAUNCH), millis);
+    public @NonNull String getKey(@NonNull String key) {
+        return mEngine.getKey(key);
     }
 
     /**
-     * Returns the last reminder date in milliseconds.
+     * Set the reminder conditions for the next launch.
      *
-     * @return The last reminder date in milliseconds.
+     * @param remind {@code true} if to set the reminder.
      */
-    private long getLastReminder() {
-        return DynamicPreferences.getInstance().load(Rating.PREFS,
-                getKey(Rating.Key.LAST_REMINDER), Rating.Value.LAST_REMINDER);
+    public void setReminder(boolean remind) {
+        final RatingTracer tracer = getTracer();
+        final long start = RatingTrace.begin(Rating.Trace.SET_REMINDER, tracer);
+
+        try {
+            mEngine.setReminder(remind);
+        } finally {
+            RatingTrace.end(Rating.Trace.SET_REMINDER, tracer, start);
+        }
     }
 
     /**
-     * Set the last reminder date in milliseconds.
+     * Log a significant event of the supplied type at the current time.
+     * <p>Only the latest {@link Rating.Default#EVENT_CAPACITY} timestamps will be kept for
+     * each type.
+     *
+     * @param type The type of the event to be logged.
      *
-     * @param millis The date to be set.
+     * @return The {@link DynamicRating} object to allow for chaining of calls to set methods.
+     *
+     * @see #getEventCount(String, int)
+     * @see RatingConditions#events(String, int, int)
      */
-    private void setLastReminder(long millis) {
-        DynamicPreferences.getInstance().save(Rating.PREFS,
-                getKey(Rating.Key.LAST_REMINDER), millis);
+    public @NonNull DynamicRating logEvent(@NonNull String type) {
+        mEngine.logEvent(type);
+
+        return this;
     }
 
     /**
-     * Returns the total launch count.
+     * Returns the no. of events of the supplied type logged within the supplied no. of days.
      *
-     * @return The total launch count.
+     * @param type The type of the events to be counted.
+     * @param windowDays The no. of days to be checked.
+     *
+     * @return The no. of events of the supplied type logged within the supplied no. of days.
      */
-    private int getLaunchCount() {
-        return DynamicPreferences.getInstance().load(Rating.PREFS,
-                getKey(Rating.Key.LAUNCH_COUNT), Rating.Value.LAUNCH_COUNT);
+    public int getEventCount(@NonNull String type, int windowDays) {
+        return mEngine.getEventCount(type, windowDays);
     }
 
     /**
-     * Set the total launch count.
+     * Remove all the logged events of the supplied type.
+     *
+     * @param type The type of the events to be removed.
      *
-     * @param count The count to be set.
+     * @return The {@link DynamicRating} object to allow for chaining of calls to set methods.
      */
-    private void setLaunchCount(int count) {
-        DynamicPreferences.getInstance().save(Rating.PREFS,
-                getKey(Rating.Key.LAUNCH_COUNT), count);
+    public @NonNull DynamicRating clearEvents(@NonNull String type) {
+        mEngine.clearEvents(type);
+
+        return this;
     }
 
     /**
-     * Checks whether to request for the rating.
+     * Returns an editor to modify the rating state in a single transaction.
+     * <p>All the changes will be persisted together on calling
+     * {@link RatingEngine.Editor#apply()}.
      *
-     * @return {@code true} if request for the rating.
+     * @return The editor to modify the rating state.
      */
-    private boolean isRequest() {
-        return DynamicPreferences.getInstance().load(Rating.PREFS,
-                getKey(Rating.Key.IS_REQUEST), Rating.Value.IS_REQUEST);
+    public @NonNull RatingEngine.Editor edit() {
+        return mEngine.edit();
     }
 
     /**
-     * Set whether to request for the rating.
-     *
-     * @param request {@code true} to request for the rating.
+     * Interface to get the callback after the asynchronous initialization.
      */
-    private void setRequest(boolean request) {
-        DynamicPreferences.getInstance().save(Rating.PREFS,
-                getKey(Rating.Key.IS_REQUEST), (Boolean) request);
+    public interface Callback {
+
+        /**
+         * This method will be called after the dynamic rating has been initialized.
+         *
+         * @param dynamicRating The initialized dynamic rating instance.
+         */
+        void onInitialized(@NonNull DynamicRating dynamicRating);
     }
 }
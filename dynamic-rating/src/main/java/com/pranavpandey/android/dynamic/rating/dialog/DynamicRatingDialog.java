@@ -16,11 +16,15 @@
 
 package com.pranavpandey.android.dynamic.rating.dialog;
 
+import android.app.Activity;
+import android.content.Context;
 import android.content.DialogInterface;
+import android.content.res.Configuration;
+import android.content.res.Resources;
 import android.os.Bundle;
-import android.view.LayoutInflater;
+import android.text.TextUtils;
 import android.view.View;
-import android.widget.LinearLayout;
+import android.widget.Button;
 import android.widget.RatingBar;
 
 import androidx.annotation.NonNull;
@@ -29,7 +33,11 @@ import androidx.fragment.app.FragmentActivity;
 
 import com.pranavpandey.android.dynamic.rating.R;
 import com.pranavpandey.android.dynamic.rating.Rating;
+import com.pranavpandey.android.dynamic.rating.listener.DynamicRatingListener;
 import com.pranavpandey.android.dynamic.rating.listener.base.RatingListener;
+import com.pranavpandey.android.dynamic.rating.metrics.RatingMetrics;
+import com.pranavpandey.android.dynamic.rating.trace.RatingTrace;
+import com.pranavpandey.android.dynamic.rating.trace.RatingTracer;
 import com.pranavpandey.android.dynamic.support.Dynamic;
 import com.pranavpandey.android.dynamic.support.dialog.DynamicDialog;
 import com.pranavpandey.android.dynamic.support.dialog.fragment.DynamicDialogFragment;
@@ -44,11 +52,72 @@ public class DynamicRatingDialog extends DynamicDialogFragment implements Rating
      */
     public static final String TAG = "DynamicRatingDialog";
 
+    /**
+     * Constant for the rating that is not one of the rating steps.
+     */
+    private static final int INDEX_NONE = -1;
+
+    /**
+     * Argument key for the registry key of this dialog.
+     */
+    private static final String ARG_KEY = "adr_arg_key";
+
+    /**
+     * State key for the current rating.
+     */
+    private static final String STATE_RATING = "adr_state_rating";
+
+    /**
+     * Key to retain the listener of this dialog in the {@link RatingDialogRegistry}.
+     */
+    private String mKey = TAG;
+
     /**
      * Rating listener used by this dialog.
      */
     private RatingListener mRatingListener;
 
+    /**
+     * Metrics to record the prompt funnel.
+     */
+    private RatingMetrics mRatingMetrics = RatingMetrics.NONE;
+
+    /**
+     * Tracer to receive the timing of the dialog.
+     */
+    private RatingTracer mRatingTracer;
+
+    /**
+     * Labels for the positive button indexed by the rating step.
+     * <p>They are resolved once and rebuilt on a configuration change.
+     */
+    private CharSequence[] mLabels;
+
+    /**
+     * Enabled states for the positive button indexed by the rating step.
+     */
+    private boolean[] mEnabled;
+
+    /**
+     * Step size used to index the labels.
+     */
+    private float mStepSize;
+
+    /**
+     * Index of the label shown on the positive button.
+     */
+    private int mLabelIndex = INDEX_NONE;
+
+    /**
+     * Current rating shown by the dialog.
+     */
+    private float mRating = Rating.Value.UNKNOWN;
+
+    /**
+     * Positive button of the dialog.
+     */
+    private Button mPositiveButton;
+
     /**
      * Initialize the new instance of this dialog fragment.
      *
@@ -61,14 +130,39 @@ public class DynamicRatingDialog extends DynamicDialogFragment implements Rating
     @Override
     protected @NonNull DynamicDialog.Builder onCustomiseBuilder(
             @NonNull DynamicDialog.Builder dialogBuilder, @Nullable Bundle savedInstanceState) {
-        View view = LayoutInflater.from(requireContext()).inflate(R.layout.adr_dialog_rating,
-                new LinearLayout(requireContext()), false);
+        final RatingTracer tracer = getRatingTracer();
+        final long start = RatingTrace.begin(Rating.Trace.CUSTOMISE_BUILDER, tracer);
+
+        try {
+            return onBuildDialog(dialogBuilder, savedInstanceState);
+        } finally {
+            RatingTrace.end(Rating.Trace.CUSTOMISE_BUILDER, tracer, start);
+        }
+    }
+
+    /**
+     * Customise the dialog builder to show the rating view.
+     *
+     * @param dialogBuilder The dialog builder to be customised.
+     * @param savedInstanceState The saved state of this dialog, if any.
+     *
+     * @return The customised dialog builder.
+     */
+    private @NonNull DynamicDialog.Builder onBuildDialog(
+            @NonNull DynamicDialog.Builder dialogBuilder, @Nullable Bundle savedInstanceState) {
+        attach();
+
+        View view = RatingViewCache.obtain(requireActivity());
         RatingBar ratingBar = view.findViewById(R.id.adr_dialog_rating_bar);
 
         dialogBuilder.setTitle(getRatingTitle());
         Dynamic.set(view.findViewById(R.id.adr_dialog_rating_message), getRatingMessage());
 
         if (ratingBar != null) {
+            if (savedInstanceState != null && mRating >= 0) {
+                ratingBar.setRating(mRating);
+            }
+
             ratingBar.setOnRatingBarChangeListener(new RatingBar.OnRatingBarChangeListener() {
                 @Override
                 public void onRatingChanged(RatingBar ratingBar, float rating, boolean fromUser) {
@@ -99,9 +193,15 @@ public class DynamicRatingDialog extends DynamicDialogFragment implements Rating
                     }
                 });
 
+        final boolean restored = savedInstanceState != null;
         setOnShowListener(new DialogInterface.OnShowListener() {
             @Override
             public void onShow(DialogInterface dialog) {
+                if (!restored) {
+                    // Count the dialog only once, not after every configuration change.
+                    getRatingMetrics().increment(Rating.Metric.SHOWN);
+                }
+
                 if (ratingBar != null) {
                     onRatingChanged(ratingBar, ratingBar.getRating(), false);
                 }
@@ -112,9 +212,87 @@ public class DynamicRatingDialog extends DynamicDialogFragment implements Rating
                 view.findViewById(R.id.adr_dialog_rating_root));
     }
 
+    @Override
+    public void onCreate(@Nullable Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+
+        if (getArguments() != null && getArguments().getString(ARG_KEY) != null) {
+            mKey = getArguments().getString(ARG_KEY);
+        }
+
+        if (savedInstanceState != null) {
+            mRating = savedInstanceState.getFloat(STATE_RATING, Rating.Value.UNKNOWN);
+        }
+
+        attach();
+    }
+
+    @Override
+    public void onSaveInstanceState(@NonNull Bundle outState) {
+        super.onSaveInstanceState(outState);
+
+        outState.putFloat(STATE_RATING, mRating);
+    }
+
+    @Override
+    public void onDestroy() {
+        final FragmentActivity activity = getActivity();
+
+        if (activity != null && !activity.isChangingConfigurations()) {
+            RatingDialogRegistry.get(activity).unregister(mKey);
+        }
+
+        super.onDestroy();
+    }
+
+    /**
+     * Reattach to the listener, metrics and tracer retained by the registry if they have
+     * been replaced or lost after recreating this dialog.
+     * <p>The retained {@link DynamicRatingListener} will be rebound to the recreated
+     * activity, so it does not keep the previous one.
+     */
+    private void attach() {
+        final FragmentActivity activity = getActivity();
+
+        if (activity == null) {
+            return;
+        }
+
+        final RatingDialogRegistry.Entry entry = RatingDialogRegistry.get(activity).get(mKey);
+
+        if (entry == null) {
+            return;
+        }
+
+        if (entry.getRatingListener() != mRatingListener) {
+            setDynamicRatingListener(entry.getRatingListener());
+            setRatingMetrics(entry.getRatingMetrics());
+            setRatingTracer(entry.getRatingTracer());
+        }
+
+        if (entry.getRatingListener() instanceof DynamicRatingListener) {
+            final DynamicRatingListener listener =
+                    (DynamicRatingListener) entry.getRatingListener();
+
+            if (listener.getContext() instanceof Activity
+                    && listener.getContext() != activity) {
+                listener.setContext(activity);
+            }
+        }
+    }
+
     @Override
     public void showDialog(@NonNull FragmentActivity fragmentActivity) {
-        showDialog(fragmentActivity, TAG);
+        final RatingTracer tracer = getRatingTracer();
+        final long start = RatingTrace.begin(Rating.Trace.SHOW_DIALOG, tracer);
+
+        try {
+            RatingDialogRegistry.get(fragmentActivity).register(mKey,
+                    getRatingListener(), getRatingMetrics(), getRatingTracer());
+            showDialog(fragmentActivity, TAG);
+        } finally {
+            RatingTrace.end(Rating.Trace.SHOW_DIALOG, tracer, start);
+        }
     }
 
     @Override
@@ -168,12 +346,147 @@ public class DynamicRatingDialog extends DynamicDialogFragment implements Rating
             getRatingListener().onRatingChanged(ratingBar, rating, fromUser);
         }
 
-        if (getDynamicDialog() != null) {
-            getDynamicDialog().getButton(DynamicDialog.BUTTON_POSITIVE)
-                    .setText(getActionRate(rating));
-            getDynamicDialog().getButton(DynamicDialog.BUTTON_POSITIVE)
-                    .setEnabled(!isRatingUnknown(rating));
+        mRating = rating;
+        updatePositiveButton(rating);
+    }
+
+    @Override
+    public void onConfigurationChanged(@NonNull Configuration newConfig) {
+        super.onConfigurationChanged(newConfig);
+
+        invalidateLabels();
+        updatePositiveButton(mRating);
+    }
+
+    @Override
+    public void onDestroyView() {
+        mPositiveButton = null;
+        mLabelIndex = INDEX_NONE;
+
+        super.onDestroyView();
+    }
+
+    /**
+     * Returns the positive button of the dialog.
+     *
+     * @return The positive button of the dialog, or {@code null} if it is not available.
+     */
+    private @Nullable Button getPositiveButton() {
+        if (mPositiveButton == null && getDynamicDialog() != null) {
+            mPositiveButton = getDynamicDialog().getButton(DynamicDialog.BUTTON_POSITIVE);
         }
+
+        return mPositiveButton;
+    }
+
+    /**
+     * Update the positive button for the supplied rating.
+     * <p>The button will be modified only if its label or enabled state has been changed.
+     *
+     * @param rating The rating to update the button.
+     */
+    private void updatePositiveButton(float rating) {
+        final Button button = getPositiveButton();
+
+        if (button == null) {
+            return;
+        }
+
+        final int index = getLabelIndex(rating);
+
+        if (index == INDEX_NONE) {
+            mLabelIndex = INDEX_NONE;
+            updateButton(button, getActionRate(rating), !isRatingUnknown(rating));
+        } else if (index != mLabelIndex) {
+            mLabelIndex = index;
+            updateButton(button, mLabels[index], mEnabled[index]);
+        }
+    }
+
+    /**
+     * Update the supplied button only if its label or enabled state has been changed.
+     *
+     * @param button The button to be updated.
+     * @param label The label to be set.
+     * @param enabled {@code true} to enable the button.
+     */
+    private static void updateButton(@NonNull Button button,
+            @Nullable CharSequence label, boolean enabled) {
+        if (!TextUtils.equals(button.getText(), label)) {
+            button.setText(label);
+        }
+
+        if (button.isEnabled() != enabled) {
+            button.setEnabled(enabled);
+        }
+    }
+
+    /**
+     * Returns the index of the label for the supplied rating.
+     * <p>The labels will be resolved if they are not available.
+     *
+     * @param rating The rating to get the index.
+     *
+     * @return The index of the label for the supplied rating, or {@link #INDEX_NONE} if it
+     *         is not one of the rating steps.
+     */
+    private int getLabelIndex(float rating) {
+        if (mLabels == null) {
+            buildLabels();
+        }
+
+        if (mLabels == null || rating < 0) {
+            return INDEX_NONE;
+        }
+
+        final int index = Math.round(rating / mStepSize);
+
+        if (index >= mLabels.length || Math.abs(index * mStepSize - rating) > 0.001f) {
+            return INDEX_NONE;
+        }
+
+        return index;
+    }
+
+    /**
+     * Resolve the labels and enabled states for each rating step.
+     *
+     * @see R.integer#adr_num_stars
+     * @see R.integer#adr_step_size
+     */
+    private void buildLabels() {
+        final Context context = getContext();
+
+        if (context == null) {
+            return;
+        }
+
+        final Resources resources = context.getResources();
+        final int numStars = resources.getInteger(R.integer.adr_num_stars);
+        final int stepSize = Math.max(1, resources.getInteger(R.integer.adr_step_size));
+        final int steps = Math.max(0, numStars / stepSize) + 1;
+        final CharSequence[] labels = new CharSequence[steps];
+        final boolean[] enabled = new boolean[steps];
+
+        for (int i = 0; i < steps; i++) {
+            final float rating = i * stepSize;
+
+            labels[i] = getActionRate(rating);
+            enabled[i] = !isRatingUnknown(rating);
+        }
+
+        mStepSize = stepSize;
+        mEnabled = enabled;
+        mLabels = labels;
+    }
+
+    /**
+     * Invalidate the resolved labels so that they will be resolved again.
+     */
+    private void invalidateLabels() {
+        mLabels = null;
+        mEnabled = null;
+        mLabelIndex = INDEX_NONE;
     }
 
     @Override
@@ -196,6 +509,9 @@ public class DynamicRatingDialog extends DynamicDialogFragment implements Rating
 
     @Override
     public void onRatingSelected(@NonNull RatingBar ratingBar, float rating) {
+        getRatingMetrics().increment(isRatingNegative(rating)
+                ? Rating.Metric.FEEDBACK : Rating.Metric.RATE);
+
         if (getRatingListener() != null) {
             getRatingListener().onRatingSelected(ratingBar, rating);
         }
@@ -203,6 +519,8 @@ public class DynamicRatingDialog extends DynamicDialogFragment implements Rating
 
     @Override
     public void onRatingSkipped(boolean remind) {
+        getRatingMetrics().increment(remind ? Rating.Metric.LATER : Rating.Metric.SKIP);
+
         if (getRatingListener() != null) {
             getRatingListener().onRatingSkipped(remind);
         }
@@ -228,6 +546,85 @@ public class DynamicRatingDialog extends DynamicDialogFragment implements Rating
     public @NonNull DynamicRatingDialog setDynamicRatingListener(
             @Nullable RatingListener ratingListener) {
         this.mRatingListener = ratingListener;
+        invalidateLabels();
+
+        return this;
+    }
+
+    /**
+     * Get the key to retain the listener of this dialog in the registry.
+     *
+     * @return The key to retain the listener of this dialog in the registry.
+     *
+     * @see RatingDialogRegistry#getKey(String)
+     */
+    public @NonNull String getRegistryKey() {
+        return mKey;
+    }
+
+    /**
+     * Set the campaign of this dialog to retain its listener across the configuration
+     * changes independently of the other campaigns.
+     *
+     * @param campaign The campaign id, {@code null} for the default instance.
+     *
+     * @return The {@link DynamicRatingDialog} object to allow for chaining of calls to
+     *         set methods.
+     *
+     * @see RatingDialogRegistry#getKey(String)
+     */
+    public @NonNull DynamicRatingDialog setCampaign(@Nullable String campaign) {
+        final Bundle arguments = getArguments() != null ? getArguments() : new Bundle();
+
+        this.mKey = RatingDialogRegistry.getKey(campaign);
+        arguments.putString(ARG_KEY, mKey);
+        setArguments(arguments);
+
+        return this;
+    }
+
+    /**
+     * Get the metrics to record the prompt funnel.
+     *
+     * @return The metrics to record the prompt funnel.
+     */
+    public @NonNull RatingMetrics getRatingMetrics() {
+        return mRatingMetrics;
+    }
+
+    /**
+     * Set the metrics to record the prompt funnel.
+     *
+     * @param ratingMetrics The metrics to be set, {@code null} to disable the metrics.
+     *
+     * @return The {@link DynamicRatingDialog} object to allow for chaining of calls to
+     *         set methods.
+     */
+    public @NonNull DynamicRatingDialog setRatingMetrics(@Nullable RatingMetrics ratingMetrics) {
+        this.mRatingMetrics = ratingMetrics != null ? ratingMetrics : RatingMetrics.NONE;
+
+        return this;
+    }
+
+    /**
+     * Get the tracer to receive the timing of the dialog.
+     *
+     * @return The tracer to receive the timing of the dialog.
+     */
+    public @Nullable RatingTracer getRatingTracer() {
+        return mRatingTracer;
+    }
+
+    /**
+     * Set the tracer to receive the timing of the dialog.
+     *
+     * @param ratingTracer The tracer to be set, {@code null} to remove it.
+     *
+     * @return The {@link DynamicRatingDialog} object to allow for chaining of calls to
+     *         set methods.
+     */
+    public @NonNull DynamicRatingDialog setRatingTracer(@Nullable RatingTracer ratingTracer) {
+        this.mRatingTracer = ratingTracer;
 
         return this;
     }
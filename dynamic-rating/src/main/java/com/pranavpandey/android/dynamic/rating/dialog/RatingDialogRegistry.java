@@ -0,0 +1,206 @@
+/*
+ * Copyright 2022 Pranav Pandey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.pranavpandey.android.dynamic.rating.dialog;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.fragment.app.FragmentActivity;
+import androidx.lifecycle.ViewModel;
+import androidx.lifecycle.ViewModelProvider;
+
+import com.pranavpandey.android.dynamic.rating.Rating;
+import com.pranavpandey.android.dynamic.rating.listener.base.RatingListener;
+import com.pranavpandey.android.dynamic.rating.metrics.RatingMetrics;
+import com.pranavpandey.android.dynamic.rating.trace.RatingTracer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A {@link ViewModel} to retain the rating listeners of the {@link DynamicRatingDialog}
+ * across the configuration changes.
+ * <p>The listeners are keyed by the dialog tag and the campaign, so a recreated dialog can
+ * reattach to its listener immediately. A retained
+ * {@link com.pranavpandey.android.dynamic.rating.listener.DynamicRatingListener} will be
+ * rebound to the recreated activity, other listeners referring to the activity should be
+ * replaced by registering a new listener for the same key after it has been recreated.
+ */
+public class RatingDialogRegistry extends ViewModel {
+
+    /**
+     * Entries registered for the rating dialogs mapped by their key.
+     */
+    private final Map<String, Entry> mEntries = new HashMap<>();
+
+    /**
+     * Returns the registry retained by the supplied activity.
+     *
+     * @param activity The activity to retain the registry.
+     *
+     * @return The registry retained by the supplied activity.
+     */
+    @MainThread
+    public static @NonNull RatingDialogRegistry get(@NonNull FragmentActivity activity) {
+        return new ViewModelProvider(activity).get(RatingDialogRegistry.class);
+    }
+
+    /**
+     * Returns the key to register the rating dialog for the supplied campaign.
+     *
+     * @param campaign The campaign id, {@code null} for the default instance.
+     *
+     * @return The key to register the rating dialog for the supplied campaign.
+     */
+    public static @NonNull String getKey(@Nullable String campaign) {
+        return campaign != null ? DynamicRatingDialog.TAG + Rating.Key.SEPARATOR + campaign
+                : DynamicRatingDialog.TAG;
+    }
+
+    /**
+     * Register the supplied listener, metrics and tracer for the rating dialog.
+     *
+     * @param key The key of the rating dialog.
+     * @param ratingListener The rating listener to be registered.
+     * @param ratingMetrics The metrics to be registered.
+     * @param ratingTracer The tracer to be registered.
+     *
+     * @see #getKey(String)
+     */
+    @MainThread
+    public void register(@NonNull String key, @Nullable RatingListener ratingListener,
+            @NonNull RatingMetrics ratingMetrics, @Nullable RatingTracer ratingTracer) {
+        mEntries.put(key, new Entry(ratingListener, ratingMetrics, ratingTracer));
+    }
+
+    /**
+     * Replace the rating listener for the registered rating dialog and retain its metrics
+     * and tracer.
+     * <p>It can be called after the activity has been recreated to provide a listener that
+     * refers to the new activity.
+     *
+     * @param key The key of the rating dialog.
+     * @param ratingListener The rating listener to be set.
+     *
+     * @return {@code true} if the rating dialog is registered and its listener is replaced.
+     *
+     * @see #getKey(String)
+     */
+    @MainThread
+    public boolean setRatingListener(@NonNull String key,
+            @Nullable RatingListener ratingListener) {
+        final Entry entry = mEntries.get(key);
+
+        if (entry == null) {
+            return false;
+        }
+
+        register(key, ratingListener, entry.getRatingMetrics(), entry.getRatingTracer());
+        return true;
+    }
+
+    /**
+     * Returns the entry registered for the rating dialog.
+     *
+     * @param key The key of the rating dialog.
+     *
+     * @return The entry registered for the rating dialog, {@code null} if not registered.
+     */
+    @MainThread
+    public @Nullable Entry get(@NonNull String key) {
+        return mEntries.get(key);
+    }
+
+    /**
+     * Unregister the entry for the rating dialog.
+     *
+     * @param key The key of the rating dialog.
+     */
+    @MainThread
+    public void unregister(@NonNull String key) {
+        mEntries.remove(key);
+    }
+
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+
+        mEntries.clear();
+    }
+
+    /**
+     * An entry to retain the listener, metrics and tracer of a rating dialog.
+     */
+    public static class Entry {
+
+        /**
+         * Rating listener for the dialog.
+         */
+        private final RatingListener mRatingListener;
+
+        /**
+         * Metrics to record the prompt funnel.
+         */
+        private final RatingMetrics mRatingMetrics;
+
+        /**
+         * Tracer to receive the timing of the dialog.
+         */
+        private final RatingTracer mRatingTracer;
+
+        /**
+         * Constructor to initialize an object of this class.
+         *
+         * @param ratingListener The rating listener for the dialog.
+         * @param ratingMetrics The metrics to record the prompt funnel.
+         * @param ratingTracer The tracer to receive the timing of the dialog.
+         */
+        Entry(@Nullable RatingListener ratingListener,
+                @NonNull RatingMetrics ratingMetrics, @Nullable RatingTracer ratingTracer) {
+            this.mRatingListener = ratingListener;
+            this.mRatingMetrics = ratingMetrics;
+            this.mRatingTracer = ratingTracer;
+        }
+
+        /**
+         * Returns the rating listener for the dialog.
+         *
+         * @return The rating listener for the dialog.
+         */
+        public @Nullable RatingListener getRatingListener() {
+            return mRatingListener;
+        }
+
+        /**
+         * Returns the metrics to record the prompt funnel.
+         *
+         * @return The metrics to record the prompt funnel.
+         */
+        public @NonNull RatingMetrics getRatingMetrics() {
+            return mRatingMetrics;
+        }
+
+        /**
+         * Returns the tracer to receive the timing of the dialog.
+         *
+         * @return The tracer to receive the timing of the dialog.
+         */
+        public @Nullable RatingTracer getRatingTracer() {
+            return mRatingTracer;
+        }
+    }
+}
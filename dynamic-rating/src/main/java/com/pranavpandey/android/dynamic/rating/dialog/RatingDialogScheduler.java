@@ -0,0 +1,191 @@
+/*
+ * Copyright 2022 Pranav Pandey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.pranavpandey.android.dynamic.rating.dialog;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.os.SystemClock;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.fragment.app.FragmentActivity;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleEventObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+import com.pranavpandey.android.dynamic.rating.DynamicRating;
+import com.pranavpandey.android.dynamic.rating.listener.base.RatingListener;
+
+/**
+ * Helper class to show the {@link DynamicRatingDialog} when the main thread is idle.
+ * <p>It waits for the minimum delay after the activity has been resumed and then for the
+ * main looper to become idle before showing the dialog, so that it never competes with the
+ * app startup or navigation. It will be paused if the activity is paused and cancelled
+ * if the activity is stopped before showing the dialog.
+ */
+public class RatingDialogScheduler implements LifecycleEventObserver,
+        MessageQueue.IdleHandler {
+
+    /**
+     * Dynamic rating instance to check the rating conditions.
+     */
+    private final DynamicRating mDynamicRating;
+
+    /**
+     * Rating listener for the dialog.
+     */
+    private final RatingListener mRatingListener;
+
+    /**
+     * Fragment activity to show the dialog.
+     */
+    private final FragmentActivity mActivity;
+
+    /**
+     * Minimum delay in milliseconds after the activity has been resumed.
+     */
+    private final long mDelay;
+
+    /**
+     * Handler to wait for the minimum delay.
+     */
+    private final Handler mHandler;
+
+    /**
+     * Runnable to wait for the main looper to become idle.
+     */
+    private final Runnable mIdleRunnable = new Runnable() {
+        @Override
+        public void run() {
+            mIdleQueue = Looper.myQueue();
+            mIdleQueue.addIdleHandler(RatingDialogScheduler.this);
+        }
+    };
+
+    /**
+     * Message queue waiting to become idle, if any.
+     */
+    private MessageQueue mIdleQueue;
+
+    /**
+     * {@code true} if this scheduler has been completed or cancelled.
+     */
+    private boolean mFinished;
+
+    /**
+     * Constructor to initialize an object of this class.
+     *
+     * @param dynamicRating The dynamic rating instance to check the rating conditions.
+     * @param ratingListener The rating listener for the dialog.
+     * @param activity The fragment activity to show the dialog.
+     * @param delay The minimum delay in milliseconds after the activity has been resumed.
+     */
+    public RatingDialogScheduler(@NonNull DynamicRating dynamicRating,
+            @NonNull RatingListener ratingListener, @NonNull FragmentActivity activity,
+            long delay) {
+        this.mDynamicRating = dynamicRating;
+        this.mRatingListener = ratingListener;
+        this.mActivity = activity;
+        this.mDelay = Math.max(0L, delay);
+        this.mHandler = new Handler(Looper.getMainLooper());
+    }
+
+    /**
+     * Start observing the activity to show the dialog once it is resumed and the main
+     * looper is idle.
+     * <p>The delay will be counted from now if the activity is already resumed.
+     *
+     * @return The {@link RatingDialogScheduler} object to allow for chaining of calls to
+     *         set methods.
+     */
+    @MainThread
+    public @NonNull RatingDialogScheduler schedule() {
+        if (!mFinished) {
+            mActivity.getLifecycle().addObserver(this);
+        }
+
+        return this;
+    }
+
+    /**
+     * Cancel this scheduler if the dialog has not been shown yet.
+     */
+    @MainThread
+    public void cancel() {
+        if (mFinished) {
+            return;
+        }
+
+        mFinished = true;
+        pause();
+        mActivity.getLifecycle().removeObserver(this);
+    }
+
+    /**
+     * Checks whether this scheduler has been completed or cancelled.
+     *
+     * @return {@code true} if this scheduler has been completed or cancelled.
+     */
+    public boolean isFinished() {
+        return mFinished;
+    }
+
+    @Override
+    public void onStateChanged(@NonNull LifecycleOwner source, @NonNull Lifecycle.Event event) {
+        switch (event) {
+            case ON_RESUME:
+                pause();
+                mHandler.postAtTime(mIdleRunnable, SystemClock.uptimeMillis() + mDelay);
+                break;
+            case ON_PAUSE:
+                pause();
+                break;
+            case ON_STOP:
+            case ON_DESTROY:
+                cancel();
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public boolean queueIdle() {
+        mIdleQueue = null;
+
+        if (!mFinished && mActivity.getLifecycle().getCurrentState()
+                .isAtLeast(Lifecycle.State.RESUMED)) {
+            cancel();
+            mDynamicRating.shouldRateDialog(mRatingListener, mActivity);
+        }
+
+        return false;
+    }
+
+    /**
+     * Remove the pending delay and idle callbacks.
+     */
+    private void pause() {
+        mHandler.removeCallbacks(mIdleRunnable);
+
+        if (mIdleQueue != null) {
+            mIdleQueue.removeIdleHandler(this);
+            mIdleQueue = null;
+        }
+    }
+}
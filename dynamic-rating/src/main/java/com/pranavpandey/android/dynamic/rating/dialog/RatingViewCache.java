@@ -0,0 +1,207 @@
+/*
+ * Copyright 2022 Pranav Pandey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.pranavpandey.android.dynamic.rating.dialog;
+
+import android.content.res.Configuration;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.LinearLayout;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.asynclayoutinflater.view.AsyncLayoutInflater;
+import androidx.fragment.app.FragmentActivity;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleEventObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+import com.pranavpandey.android.dynamic.rating.R;
+
+/**
+ * Helper class to inflate the rating dialog view ahead of time.
+ * <p>The cache is attached to the window of an activity and observes its lifecycle, so it
+ * is cleared and released along with the activity once it is destroyed. The view is
+ * inflated asynchronously and will be inflated on the main thread only if the asynchronous
+ * inflater cannot inflate it. It will be reused by the {@link DynamicRatingDialog} only if
+ * it is shown in the same activity with the same configuration.
+ */
+public final class RatingViewCache implements LifecycleEventObserver {
+
+    /**
+     * Activity for which the view is being inflated or has been inflated.
+     */
+    private final FragmentActivity mActivity;
+
+    /**
+     * Configuration used to inflate the view.
+     */
+    private Configuration mConfiguration;
+
+    /**
+     * Inflated view for the rating dialog.
+     */
+    private View mView;
+
+    /**
+     * Constructor to initialize an object of this class.
+     *
+     * @param activity The activity to inflate the view.
+     */
+    private RatingViewCache(@NonNull FragmentActivity activity) {
+        this.mActivity = activity;
+    }
+
+    /**
+     * Inflate the rating dialog view asynchronously for the supplied activity.
+     * <p>It will do nothing if the view is already available or being inflated for the
+     * current configuration of the supplied activity.
+     *
+     * @param activity The activity to inflate the view.
+     */
+    @MainThread
+    public static void prewarm(@NonNull FragmentActivity activity) {
+        if (activity.isFinishing()) {
+            return;
+        }
+
+        RatingViewCache cache = get(activity);
+        if (cache == null) {
+            cache = new RatingViewCache(activity);
+            activity.getWindow().getDecorView().setTag(R.id.adr_view_cache, cache);
+            activity.getLifecycle().addObserver(cache);
+        }
+
+        cache.prewarm();
+    }
+
+    /**
+     * Returns the view for the supplied activity, either prepared ahead of time or inflated
+     * on the spot.
+     *
+     * @param activity The activity to show the dialog.
+     *
+     * @return The view for the supplied activity.
+     */
+    @MainThread
+    public static @NonNull View obtain(@NonNull FragmentActivity activity) {
+        final RatingViewCache cache = get(activity);
+        final View view = cache != null ? cache.take() : null;
+
+        if (view != null) {
+            return view;
+        }
+
+        return inflate(activity);
+    }
+
+    /**
+     * Returns the cache attached to the supplied activity.
+     *
+     * @param activity The activity to get the cache.
+     *
+     * @return The cache attached to the supplied activity, if any.
+     */
+    private static @Nullable RatingViewCache get(@NonNull FragmentActivity activity) {
+        final Object cache = activity.getWindow().getDecorView().getTag(R.id.adr_view_cache);
+
+        return cache instanceof RatingViewCache ? (RatingViewCache) cache : null;
+    }
+
+    /**
+     * Inflate the rating dialog view for the supplied activity.
+     *
+     * @param activity The activity to inflate the view.
+     *
+     * @return The inflated view for the rating dialog.
+     */
+    private static @NonNull View inflate(@NonNull FragmentActivity activity) {
+        return LayoutInflater.from(activity).inflate(R.layout.adr_dialog_rating,
+                new LinearLayout(activity), false);
+    }
+
+    @Override
+    public void onStateChanged(@NonNull LifecycleOwner source, @NonNull Lifecycle.Event event) {
+        if (event == Lifecycle.Event.ON_DESTROY) {
+            clear();
+            mActivity.getLifecycle().removeObserver(this);
+            mActivity.getWindow().getDecorView().setTag(R.id.adr_view_cache, null);
+        }
+    }
+
+    /**
+     * Inflate the rating dialog view asynchronously, if it is not already available or being
+     * inflated for the current configuration.
+     */
+    private void prewarm() {
+        if (isCurrent()) {
+            return;
+        }
+
+        clear();
+        final Configuration configuration =
+                new Configuration(mActivity.getResources().getConfiguration());
+        mConfiguration = configuration;
+
+        new AsyncLayoutInflater(mActivity).inflate(R.layout.adr_dialog_rating,
+                new LinearLayout(mActivity), new AsyncLayoutInflater.OnInflateFinishedListener() {
+                    @Override
+                    public void onInflateFinished(@Nullable View view, int resid,
+                            @Nullable ViewGroup parent) {
+                        // Ignore the view if the cache has been cleared in the meantime.
+                        if (configuration != mConfiguration || mActivity.isFinishing()) {
+                            return;
+                        }
+
+                        mView = view != null ? view : inflate(mActivity);
+                    }
+                });
+    }
+
+    /**
+     * Returns the prepared view and removes it from this cache.
+     *
+     * @return The prepared view, or {@code null} if it is not available or was inflated
+     *         for a different configuration.
+     */
+    private @Nullable View take() {
+        final View view = isCurrent() ? mView : null;
+
+        clear();
+        return view;
+    }
+
+    /**
+     * Clear the prepared view and ignore the pending inflation.
+     */
+    private void clear() {
+        mConfiguration = null;
+        mView = null;
+    }
+
+    /**
+     * Checks whether the configuration used to inflate the view is same as the current
+     * configuration of the activity.
+     *
+     * @return {@code true} if the view has been inflated with the current configuration.
+     */
+    private boolean isCurrent() {
+        return mConfiguration != null && mConfiguration.diff(
+                mActivity.getResources().getConfiguration()) == 0;
+    }
+}
@@ -16,6 +16,7 @@
 
 package com.pranavpandey.android.dynamic.rating.listener;
 
+import android.app.Activity;
 import android.content.Context;
 import android.widget.RatingBar;
 
@@ -35,7 +36,7 @@ public abstract class DynamicRatingListener implements RatingListener {
     /**
      * Context used by this listener.
      */
-    private final Context mContext;
+    private Context mContext;
 
     /**
      * Dynamic rating instance used by this listener.
@@ -55,8 +56,11 @@ public abstract class DynamicRatingListener implements RatingListener {
 
     /**
      * This method will be called on getting a positive feedback from the user.
+     * <p>It will not be called if the review flow has been launched by the review handoff.
      *
      * @param rating The rating selected by the user.
+     *
+     * @see DynamicRating#getReviewHandoff()
      */
     public abstract void onRate(float rating);
 
@@ -76,6 +80,37 @@ public abstract class DynamicRatingListener implements RatingListener {
         return mContext;
     }
 
+    /**
+     * Set the context used by this listener.
+     * <p>It will be called by the rating dialog to rebind this listener to the recreated
+     * activity after a configuration change.
+     *
+     * @param context The context to be set.
+     *
+     * @return The {@link DynamicRatingListener} object to allow for chaining of calls to
+     *         set methods.
+     */
+    public @NonNull DynamicRatingListener setContext(@NonNull Context context) {
+        this.mContext = context;
+
+        return this;
+    }
+
+    /**
+     * Returns the activity used by this listener if it is still active.
+     *
+     * @return The activity used by this listener, or {@code null} if the context is not an
+     *         activity or it has been finished.
+     */
+    private @Nullable Activity getActivity() {
+        if (!(getContext() instanceof Activity)) {
+            return null;
+        }
+
+        final Activity activity = (Activity) getContext();
+        return activity.isFinishing() || activity.isDestroyed() ? null : activity;
+    }
+
     /**
      * Get the dynamic rating instance used by this listener.
      *
@@ -142,17 +177,28 @@ public abstract class DynamicRatingListener implements RatingListener {
     }
 
     @Override
-    public void onRatingChanged(RatingBar ratingBar, float rating, boolean fromUser) { }
+    public void onRatingChanged(RatingBar ratingBar, float rating, boolean fromUser) {
+        if (getDynamicRating() != null) {
+            getDynamicRating().logInteraction(Rating.Interaction.CHANGED, rating);
+        }
+    }
 
     @Override
     public void onRatingSelected(@NonNull RatingBar ratingBar, float rating) {
         if (isRatingNegative(rating)) {
             onFeedback(rating);
         } else {
-            onRate(rating);
+            final Activity activity = getActivity();
+
+            if (getDynamicRating() == null || activity == null
+                    || !getDynamicRating().handoffReview(activity)) {
+                onRate(rating);
+            }
         }
 
         if (getDynamicRating() != null) {
+            getDynamicRating().logInteraction(isRatingNegative(rating)
+                    ? Rating.Interaction.FEEDBACK : Rating.Interaction.RATE, rating);
             getDynamicRating().setReminder(false);
         }
     }
@@ -160,6 +206,8 @@ public abstract class DynamicRatingListener implements RatingListener {
     @Override
     public void onRatingSkipped(boolean remind) {
         if (getDynamicRating() != null) {
+            getDynamicRating().logInteraction(remind
+                    ? Rating.Interaction.LATER : Rating.Interaction.SKIP, 0f);
             getDynamicRating().setReminder(remind);
         }
     }
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2022 Pranav Pandey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.pranavpandey.android.dynamic.rating.listener;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleEventObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+import com.pranavpandey.android.dynamic.rating.engine.RatingEngine;
+
+/**
+ * An observer to deliver the eligibility changes on the main thread while a lifecycle
+ * owner is at least started.
+ * <p>The latest eligibility will be delivered once the owner is started again and it will
+ * be removed automatically once the owner is destroyed.
+ */
+public class EligibilityObserver implements LifecycleEventObserver,
+        RatingEngine.OnEligibilityChangedListener {
+
+    /**
+     * Engine to observe the eligibility.
+     */
+    private final RatingEngine mEngine;
+
+    /**
+     * Lifecycle owner to deliver the eligibility.
+     */
+    private final LifecycleOwner mOwner;
+
+    /**
+     * Listener to receive the eligibility.
+     */
+    private final RatingEngine.OnEligibilityChangedListener mListener;
+
+    /**
+     * Handler to deliver the eligibility on the main thread.
+     */
+    private final Handler mHandler;
+
+    /**
+     * Runnable to deliver the latest eligibility.
+     */
+    private final Runnable mDeliverRunnable = new Runnable() {
+        @Override
+        public void run() {
+            deliver();
+        }
+    };
+
+    /**
+     * Last eligibility delivered to the listener, {@code null} if not delivered yet.
+     */
+    private Boolean mDelivered;
+
+    /**
+     * Constructor to initialize an object of this class.
+     *
+     * @param engine The engine to observe the eligibility.
+     * @param owner The lifecycle owner to deliver the eligibility.
+     * @param listener The listener to receive the eligibility.
+     */
+    public EligibilityObserver(@NonNull RatingEngine engine, @NonNull LifecycleOwner owner,
+            @NonNull RatingEngine.OnEligibilityChangedListener listener) {
+        this.mEngine = engine;
+        this.mOwner = owner;
+        this.mListener = listener;
+        this.mHandler = new Handler(Looper.getMainLooper());
+    }
+
+    /**
+     * Start observing the eligibility until the lifecycle owner is destroyed.
+     *
+     * @return The {@link EligibilityObserver} object to allow for chaining of calls to
+     *         set methods.
+     */
+    @MainThread
+    public @NonNull EligibilityObserver observe() {
+        if (mOwner.getLifecycle().getCurrentState() != Lifecycle.State.DESTROYED) {
+            mOwner.getLifecycle().addObserver(this);
+            mEngine.addOnEligibilityChangedListener(this);
+        }
+
+        return this;
+    }
+
+    /**
+     * Stop observing the eligibility.
+     */
+    @MainThread
+    public void remove() {
+        mEngine.removeOnEligibilityChangedListener(this);
+        mOwner.getLifecycle().removeObserver(this);
+        mHandler.removeCallbacks(mDeliverRunnable);
+    }
+
+    @Override
+    public void onEligibilityChanged(boolean eligible) {
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            deliver();
+        } else {
+            mHandler.removeCallbacks(mDeliverRunnable);
+            mHandler.post(mDeliverRunnable);
+        }
+    }
+
+    @Override
+    public void onStateChanged(@NonNull LifecycleOwner source, @NonNull Lifecycle.Event event) {
+        if (event == Lifecycle.Event.ON_START) {
+            mEngine.checkEligibility();
+            deliver();
+        } else if (event == Lifecycle.Event.ON_DESTROY) {
+            remove();
+        }
+    }
+
+    /**
+     * Deliver the latest eligibility to the listener if the lifecycle owner is started
+     * and it has been changed since the last delivery.
+     */
+    private void deliver() {
+        if (!mOwner.getLifecycle().getCurrentState().isAtLeast(Lifecycle.State.STARTED)) {
+            return;
+        }
+
+        final boolean eligible = mEngine.isEligible();
+
+        if (mDelivered == null || mDelivered != eligible) {
+            mDelivered = eligible;
+            mListener.onEligibilityChanged(eligible);
+        }
+    }
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright 2022 Pranav Pandey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.pranavpandey.android.dynamic.rating.review;
+
+import android.app.Activity;
+import android.content.Context;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.pranavpandey.android.dynamic.rating.Rating;
+import com.pranavpandey.android.dynamic.rating.clock.RatingClock;
+import com.pranavpandey.android.dynamic.rating.clock.SystemRatingClock;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+/**
+ * A {@link ReviewHandoff} wrapper to prefetch the review request in the background and to
+ * cache it for a limited time.
+ * <p>The prefetch can be started multiple times, it will only prepare a new request if
+ * there is no pending or valid one. The cached request is consumed by the handoff, so it
+ * will be prepared again for the next review flow.
+ *
+ * @param <T> The type of the prepared review request.
+ */
+public class CachedReviewHandoff<T> {
+
+    /**
+     * Application context to prepare the review request.
+     */
+    private final Context mContext;
+
+    /**
+     * Review handoff to prepare the request and to launch the review flow.
+     */
+    private final ReviewHandoff<T> mHandoff;
+
+    /**
+     * Executor to prepare the review request.
+     */
+    private final Executor mExecutor;
+
+    /**
+     * Clock to check the expiry of the review request.
+     */
+    private final RatingClock mClock;
+
+    /**
+     * Time in milliseconds to keep the prepared review request.
+     */
+    private final long mTtl;
+
+    /**
+     * Current prefetch of the review request, if any.
+     */
+    private Prefetch<T> mPrefetch;
+
+    /**
+     * Constructor to initialize an object of this class with the default TTL.
+     *
+     * @param context The context to prepare the review request.
+     * @param handoff The review handoff to be wrapped.
+     * @param executor The executor to prepare the review request.
+     *
+     * @see Rating.Default#REVIEW_TTL
+     */
+    public CachedReviewHandoff(@NonNull Context context,
+            @NonNull ReviewHandoff<T> handoff, @NonNull Executor executor) {
+        this(context, handoff, executor, Rating.Default.REVIEW_TTL,
+                SystemRatingClock.getInstance());
+    }
+
+    /**
+     * Constructor to initialize an object of this class.
+     *
+     * @param context The context to prepare the review request.
+     * @param handoff The review handoff to be wrapped.
+     * @param executor The executor to prepare the review request.
+     * @param ttl The time in milliseconds to keep the prepared review request.
+     * @param clock The clock to check the expiry of the review request.
+     */
+    public CachedReviewHandoff(@NonNull Context context, @NonNull ReviewHandoff<T> handoff,
+            @NonNull Executor executor, long ttl, @NonNull RatingClock clock) {
+        this.mContext = context.getApplicationContext();
+        this.mHandoff = handoff;
+        this.mExecutor = executor;
+        this.mTtl = ttl;
+        this.mClock = clock;
+    }
+
+    /**
+     * Returns the review handoff wrapped by this object.
+     *
+     * @return The review handoff wrapped by this object.
+     */
+    public @NonNull ReviewHandoff<T> getHandoff() {
+        return mHandoff;
+    }
+
+    /**
+     * Returns the time in milliseconds to keep the prepared review request.
+     *
+     * @return The time in milliseconds to keep the prepared review request.
+     */
+    public long getTtl() {
+        return mTtl;
+    }
+
+    /**
+     * Start preparing the review request in the background if there is no pending or
+     * valid request.
+     */
+    public void prefetch() {
+        final Prefetch<T> prefetch;
+
+        synchronized (this) {
+            if (mPrefetch != null && mPrefetch.isValid(mClock.currentTimeMillis(), mTtl)) {
+                return;
+            }
+
+            prefetch = new Prefetch<>(mContext, mHandoff, mClock);
+            mPrefetch = prefetch;
+        }
+
+        mExecutor.execute(prefetch.mTask);
+    }
+
+    /**
+     * Checks whether a prepared review request is available to be launched right away.
+     *
+     * @return {@code true} if a prepared review request is available.
+     */
+    public synchronized boolean isReady() {
+        return mPrefetch != null && mPrefetch.getRequest(mClock.currentTimeMillis(), mTtl) != null;
+    }
+
+    /**
+     * Launch the review flow with the prepared request and consume it.
+     * <p>The review flow will be started from scratch if the request is not prepared yet,
+     * has failed or has expired.
+     *
+     * @param activity The activity to launch the review flow.
+     *
+     * @return {@code true} if the review flow has been launched.
+     */
+    @MainThread
+    public boolean handoff(@NonNull Activity activity) {
+        final Prefetch<T> prefetch;
+
+        synchronized (this) {
+            prefetch = mPrefetch;
+            mPrefetch = null;
+        }
+
+        return mHandoff.launch(activity, prefetch != null
+                ? prefetch.getRequest(mClock.currentTimeMillis(), mTtl) : null);
+    }
+
+    /**
+     * Discard the prepared or pending review request.
+     */
+    public synchronized void invalidate() {
+        if (mPrefetch != null) {
+            mPrefetch.mTask.cancel(false);
+            mPrefetch = null;
+        }
+    }
+
+    /**
+     * A prefetch of the review request along with the time when it was prepared.
+     *
+     * @param <T> The type of the prepared review request.
+     */
+    private static class Prefetch<T> {
+
+        /**
+         * Task to prepare the review request.
+         */
+        final FutureTask<T> mTask;
+
+        /**
+         * Time in milliseconds when the review request was prepared.
+         */
+        volatile long mPreparedAt;
+
+        /**
+         * Constructor to initialize an object of this class.
+         *
+         * @param context The application context to prepare the review request.
+         * @param handoff The review handoff to prepare the request.
+         * @param clock The clock to record the time when the request was prepared.
+         */
+        Prefetch(final @NonNull Context context, final @NonNull ReviewHandoff<T> handoff,
+                final @NonNull RatingClock clock) {
+            this.mTask = new FutureTask<>(new Callable<T>() {
+                @Override
+                public T call() throws Exception {
+                    try {
+                        return handoff.prepare(context);
+                    } finally {
+                        mPreparedAt = clock.currentTimeMillis();
+                    }
+                }
+            });
+        }
+
+        /**
+         * Checks whether this prefetch is pending or has a valid review request.
+         *
+         * @param time The current time in milliseconds.
+         * @param ttl The time in milliseconds to keep the prepared review request.
+         *
+         * @return {@code true} if this prefetch is pending or has a valid review request.
+         */
+        boolean isValid(long time, long ttl) {
+            return !mTask.isDone() || getRequest(time, ttl) != null;
+        }
+
+        /**
+         * Returns the prepared review request if it is available and has not expired.
+         *
+         * @param time The current time in milliseconds.
+         * @param ttl The time in milliseconds to keep the prepared review request.
+         *
+         * @return The prepared review request, {@code null} if it is not available.
+         */
+        @Nullable T getRequest(long time, long ttl) {
+            if (!mTask.isDone() || mTask.isCancelled() || time - mPreparedAt >= ttl) {
+                return null;
+            }
+
+            try {
+                return mTask.get();
+            } catch (ExecutionException e) {
+                return null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2022 Pranav Pandey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.pranavpandey.android.dynamic.rating.review;
+
+import android.app.Activity;
+import android.content.Context;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+/**
+ * An interface to hand off a positive rating to the review flow of the app store.
+ * <p>The review request is prepared ahead of time on a background thread, so the review flow
+ * can be launched right away when the user selects a positive rating.
+ *
+ * @param <T> The type of the prepared review request.
+ *
+ * @see CachedReviewHandoff
+ */
+public interface ReviewHandoff<T> {
+
+    /**
+     * This method will be called on a background thread to prepare the review request.
+     *
+     * @param context The application context to be used.
+     *
+     * @return The prepared review request, {@code null} if it cannot be prepared.
+     *
+     * @throws Exception If the review request cannot be prepared.
+     */
+    @WorkerThread
+    @Nullable T prepare(@NonNull Context context) throws Exception;
+
+    /**
+     * This method will be called to launch the review flow.
+     *
+     * @param activity The activity to launch the review flow.
+     * @param request The prepared review request, {@code null} if it is not available and
+     *                the review flow should be started from scratch.
+     *
+     * @return {@code true} if the review flow has been launched, otherwise the positive
+     *         rating will be passed to the rating listener.
+     */
+    @MainThread
+    boolean launch(@NonNull Activity activity, @Nullable T request);
+}
@@ -0,0 +1,331 @@
+/*
+ * Copyright 2022 Pranav Pandey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.pranavpandey.android.dynamic.rating.rules;
+
+import android.content.Context;
+import android.content.pm.PackageManager;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.pranavpandey.android.dynamic.rating.Rating;
+import com.pranavpandey.android.dynamic.rating.model.RatingConfig;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.zip.CRC32;
+
+/**
+ * Helper class to load the {@link RatingRules} from a JSON file.
+ * <p>The rules are parsed only once and the compiled form is cached along with the identity
+ * of the JSON source, so it will not even be read again until it has been changed. The
+ * assets are identified by the last update time of the app, the files by their length and
+ * modification time and the streams by the hash of their content.
+ * <p>The JSON file has the following format where all the keys are optional:
+ * <pre>{@code
+ * {
+ *     "minDays": 3,
+ *     "minLaunches": 7,
+ *     "remindDays": 5,
+ *     "events": {
+ *         "purchase": { "count": 2, "days": 30 },
+ *         "share": 3
+ *     }
+ * }
+ * }</pre>
+ *
+ * @see Rating.Rule
+ */
+public final class RatingRulesLoader {
+
+    /**
+     * Size of the buffer to read the JSON file.
+     */
+    private static final int BUFFER_SIZE = 1024;
+
+    /**
+     * Prefix for the cache key of an asset.
+     */
+    private static final String KEY_ASSET = "asset:";
+
+    /**
+     * Prefix for the cache key of a file.
+     */
+    private static final String KEY_FILE = "file:";
+
+    /**
+     * Prefix for the cache key of a stream.
+     */
+    private static final String KEY_STREAM = "crc:";
+
+    /**
+     * Making default constructor private so that it cannot be initialized.
+     */
+    private RatingRulesLoader() { }
+
+    /**
+     * Parse the rating rules from the supplied JSON.
+     * <p>The missing keys will be set to their default values.
+     *
+     * @param json The JSON to be parsed.
+     *
+     * @return The rating rules parsed from the supplied JSON.
+     *
+     * @throws JSONException If the supplied JSON is not valid.
+     */
+    public static @NonNull RatingRules parse(@NonNull String json) throws JSONException {
+        final JSONObject object = new JSONObject(json);
+        RatingRules rules = new RatingRules(new RatingConfig(
+                object.optInt(Rating.Rule.MIN_DAYS, Rating.Default.RATE_INTERVAL),
+                object.optInt(Rating.Rule.MIN_LAUNCHES, Rating.Default.RATE_COUNT),
+                object.optInt(Rating.Rule.REMIND_DAYS, Rating.Default.REMIND_INTERVAL)));
+
+        final JSONObject events = object.optJSONObject(Rating.Rule.EVENTS);
+        if (events == null) {
+            return rules;
+        }
+
+        final Iterator<String> types = events.keys();
+        while (types.hasNext()) {
+            final String type = types.next();
+            final JSONObject event = events.optJSONObject(type);
+
+            if (event != null) {
+                rules = rules.withEvent(type, event.optInt(Rating.Rule.COUNT, 1),
+                        event.optInt(Rating.Rule.DAYS, Rating.Default.EVENT_WINDOW));
+            } else {
+                rules = rules.withEvent(type, events.getInt(type), Rating.Default.EVENT_WINDOW);
+            }
+        }
+
+        return rules;
+    }
+
+    /**
+     * Load the rating rules from the supplied asset and cache the compiled form.
+     * <p>The asset will be read only if the cache is missing or the app has been updated.
+     *
+     * @param context The context to retrieve the assets and the cache directory.
+     * @param asset The path of the JSON asset.
+     *
+     * @return The rating rules loaded from the supplied asset.
+     *
+     * @throws IOException If the asset cannot be read or is not valid.
+     *
+     * @see Rating#RULES
+     */
+    @WorkerThread
+    public static @NonNull RatingRules load(@NonNull Context context,
+            @NonNull String asset) throws IOException {
+        final File cache = new File(context.getCacheDir(), Rating.RULES);
+        String key = null;
+
+        try {
+            key = KEY_ASSET + asset + Rating.Key.SEPARATOR + context.getPackageManager()
+                    .getPackageInfo(context.getPackageName(), 0).lastUpdateTime;
+        } catch (PackageManager.NameNotFoundException ignored) {
+        }
+
+        final RatingRules rules = key != null ? readCache(cache, key) : null;
+        return rules != null ? rules : load(context.getAssets().open(asset), cache, key);
+    }
+
+    /**
+     * Load the rating rules from the supplied JSON file and cache the compiled form.
+     * <p>The file will be read only if the cache is missing or its length or modification
+     * time has been changed.
+     *
+     * @param context The context to retrieve the cache directory.
+     * @param file The JSON file to be loaded.
+     *
+     * @return The rating rules loaded from the supplied JSON file.
+     *
+     * @throws IOException If the file cannot be read or is not valid.
+     *
+     * @see Rating#RULES
+     */
+    @WorkerThread
+    public static @NonNull RatingRules load(@NonNull Context context,
+            @NonNull File file) throws IOException {
+        final File cache = new File(context.getCacheDir(), Rating.RULES);
+        final String key = KEY_FILE + file.getAbsolutePath() + Rating.Key.SEPARATOR
+                + file.length() + Rating.Key.SEPARATOR + file.lastModified();
+
+        final RatingRules rules = readCache(cache, key);
+        return rules != null ? rules : load(new FileInputStream(file), cache, key);
+    }
+
+    /**
+     * Load the rating rules from the supplied JSON stream.
+     * <p>The compiled form will be read from the cache if the content hash is not changed,
+     * otherwise the JSON will be parsed and the cache will be updated.
+     *
+     * @param source The JSON stream to be loaded, it will be closed after reading.
+     * @param cache The file to cache the compiled form.
+     *
+     * @return The rating rules loaded from the supplied JSON stream.
+     *
+     * @throws IOException If the stream cannot be read or is not valid.
+     */
+    @WorkerThread
+    public static @NonNull RatingRules load(@NonNull InputStream source,
+            @NonNull File cache) throws IOException {
+        return load(source, cache, null);
+    }
+
+    /**
+     * Parse the rating rules from the supplied JSON stream and cache the compiled form.
+     *
+     * @param source The JSON stream to be loaded, it will be closed after reading.
+     * @param cache The file to cache the compiled form.
+     * @param key The key to identify the JSON source, {@code null} to use the hash of
+     *            its content.
+     *
+     * @return The rating rules loaded from the supplied JSON stream.
+     *
+     * @throws IOException If the stream cannot be read or is not valid.
+     */
+    private static @NonNull RatingRules load(@NonNull InputStream source,
+            @NonNull File cache, @Nullable String key) throws IOException {
+        final byte[] bytes = read(source);
+        RatingRules rules = null;
+
+        if (key == null) {
+            final CRC32 crc = new CRC32();
+            crc.update(bytes);
+
+            key = KEY_STREAM + Long.toHexString(crc.getValue());
+            rules = readCache(cache, key);
+        }
+
+        if (rules == null) {
+            try {
+                rules = parse(new String(bytes, "UTF-8"));
+            } catch (JSONException e) {
+                throw new IOException(e);
+            }
+
+            writeCache(cache, key, rules);
+        }
+
+        return rules;
+    }
+
+    /**
+     * Read all the bytes from the supplied stream and close it.
+     *
+     * @param source The stream to be read.
+     *
+     * @return The bytes read from the supplied stream.
+     *
+     * @throws IOException If the stream cannot be read.
+     */
+    private static @NonNull byte[] read(@NonNull InputStream source) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[BUFFER_SIZE];
+
+        try {
+            int read;
+            while ((read = source.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        } finally {
+            source.close();
+        }
+
+        return out.toByteArray();
+    }
+
+    /**
+     * Read the compiled rating rules from the cache.
+     *
+     * @param cache The file to cache the compiled form.
+     * @param key The key to identify the JSON source.
+     *
+     * @return The cached rating rules, {@code null} if the cache is missing or stale.
+     */
+    private static @Nullable RatingRules readCache(@NonNull File cache, @NonNull String key) {
+        if (!cache.exists()) {
+            return null;
+        }
+
+        DataInputStream in = null;
+        try {
+            in = new DataInputStream(new BufferedInputStream(new FileInputStream(cache)));
+
+            return key.equals(in.readUTF()) ? RatingRules.read(in) : null;
+        } catch (IOException e) {
+            return null;
+        } finally {
+            if (in != null) {
+                try {
+                    in.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
+    /**
+     * Write the compiled rating rules to the cache.
+     * <p>The cache will be written to a temporary file first and then moved, so a partially
+     * written cache is never read.
+     *
+     * @param cache The file to cache the compiled form.
+     * @param key The key to identify the JSON source.
+     * @param rules The rating rules to be cached.
+     */
+    private static void writeCache(@NonNull File cache,
+            @NonNull String key, @NonNull RatingRules rules) {
+        final File temp = new File(cache.getPath() + ".tmp");
+
+        DataOutputStream out = null;
+        try {
+            out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)));
+            out.writeUTF(key);
+            rules.write(out);
+            out.close();
+            out = null;
+
+            if (!temp.renameTo(cache)) {
+                temp.delete();
+            }
+        } catch (IOException e) {
+            temp.delete();
+        } finally {
+            if (out != null) {
+                try {
+                    out.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2022 Pranav Pandey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.pranavpandey.android.dynamic.rating.startup;
+
+import android.app.ActivityManager;
+import android.app.Application;
+import android.content.Context;
+import android.os.Build;
+import android.os.Process;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.startup.Initializer;
+
+import com.pranavpandey.android.dynamic.rating.DynamicRating;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * An {@link Initializer} to create the {@link DynamicRating} when the app process starts and
+ * to pre-load the rating state on a background thread.
+ * <p>It is enabled by default and can be disabled by removing its meta-data from the
+ * {@code androidx.startup.InitializationProvider} in the app manifest with
+ * {@code tools:node="remove"}. The rating state will be pre-loaded only in the main process
+ * of the app, so it does not cost anything in the other processes like remote services.
+ */
+public class DynamicRatingInitializer implements Initializer<DynamicRating> {
+
+    /**
+     * Name of the thread to pre-load the rating state.
+     */
+    private static final String THREAD_NAME = "DynamicRating-Preload";
+
+    /**
+     * Executor to pre-load the rating state on a background thread.
+     */
+    private static final Executor PRELOAD_EXECUTOR = new Executor() {
+        @Override
+        public void execute(final @NonNull Runnable command) {
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                    command.run();
+                }
+            }, THREAD_NAME).start();
+        }
+    };
+
+    @Override
+    public @NonNull DynamicRating create(@NonNull Context context) {
+        final DynamicRating dynamicRating =
+                DynamicRating.getInstance(context.getApplicationContext());
+
+        return isMainProcess(context) ? dynamicRating.preload(PRELOAD_EXECUTOR) : dynamicRating;
+    }
+
+    @Override
+    public @NonNull List<Class<? extends Initializer<?>>> dependencies() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Checks whether the current process is the main process of the app.
+     *
+     * @param context The context to get the app info.
+     *
+     * @return {@code true} if the current process is the main process of the app, or if
+     *         it cannot be determined.
+     */
+    private static boolean isMainProcess(@NonNull Context context) {
+        final String processName = getProcessName(context);
+
+        return processName == null
+                || processName.equals(context.getApplicationInfo().processName);
+    }
+
+    /**
+     * Returns the name of the current process.
+     *
+     * @param context The context to get the running processes.
+     *
+     * @return The name of the current process, or {@code null} if it cannot be determined.
+     */
+    private static @Nullable String getProcessName(@NonNull Context context) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.P) {
+            return Application.getProcessName();
+        }
+
+        final ActivityManager activityManager = (ActivityManager)
+                context.getSystemService(Context.ACTIVITY_SERVICE);
+        final List<ActivityManager.RunningAppProcessInfo> processes =
+                activityManager != null ? activityManager.getRunningAppProcesses() : null;
+
+        if (processes != null) {
+            final int pid = Process.myPid();
+
+            for (ActivityManager.RunningAppProcessInfo process : processes) {
+                if (process.pid == pid) {
+                    return process.processName;
+                }
+            }
+        }
+
+        return null;
+    }
+}
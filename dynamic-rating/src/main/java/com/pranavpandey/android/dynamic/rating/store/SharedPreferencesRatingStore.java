@@ -0,0 +1,186 @@
+/*
+ * Copyright 2022 Pranav Pandey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.pranavpandey.android.dynamic.rating.store;
+
+import android.content.SharedPreferences;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.pranavpandey.android.dynamic.preferences.DynamicPreferences;
+import com.pranavpandey.android.dynamic.rating.Rating;
+
+/**
+ * A {@link RatingStore} to persist the rating data in the shared preferences.
+ * <p>It is the default store and uses the {@link DynamicPreferences} to access the
+ * shared preferences.
+ */
+public class SharedPreferencesRatingStore implements RatingStore {
+
+    /**
+     * Name of the shared preferences used by this store.
+     */
+    private final String mPreferences;
+
+    /**
+     * Shared preferences used by this store.
+     */
+    private volatile SharedPreferences mSharedPreferences;
+
+    /**
+     * Constructor to initialize an object of this class with the default preferences.
+     *
+     * @see Rating#PREFS
+     */
+    public SharedPreferencesRatingStore() {
+        this(Rating.PREFS);
+    }
+
+    /**
+     * Constructor to initialize an object of this class.
+     *
+     * @param preferences The name of the shared preferences to be used.
+     */
+    public SharedPreferencesRatingStore(@NonNull String preferences) {
+        this.mPreferences = preferences;
+    }
+
+    /**
+     * Returns the shared preferences used by this store.
+     *
+     * @return The shared preferences used by this store.
+     */
+    public @NonNull SharedPreferences getSharedPreferences() {
+        SharedPreferences sharedPreferences = mSharedPreferences;
+
+        if (sharedPreferences == null) {
+            sharedPreferences = DynamicPreferences.getInstance()
+                    .getSharedPreferences(mPreferences);
+            mSharedPreferences = sharedPreferences;
+        }
+
+        return sharedPreferences;
+    }
+
+    @Override
+    public long getLong(@NonNull String key, long defValue) {
+        return getSharedPreferences().getLong(key, defValue);
+    }
+
+    @Override
+    public int getInt(@NonNull String key, int defValue) {
+        return getSharedPreferences().getInt(key, defValue);
+    }
+
+    @Override
+    public boolean getBoolean(@NonNull String key, boolean defValue) {
+        return getSharedPreferences().getBoolean(key, defValue);
+    }
+
+    @Override
+    public @Nullable String getString(@NonNull String key, @Nullable String defValue) {
+        return getSharedPreferences().getString(key, defValue);
+    }
+
+    @Override
+    public void putLong(@NonNull String key, long value) {
+        getSharedPreferences().edit().putLong(key, value).apply();
+    }
+
+    @Override
+    public void putInt(@NonNull String key, int value) {
+        getSharedPreferences().edit().putInt(key, value).apply();
+    }
+
+    @Override
+    public void putBoolean(@NonNull String key, boolean value) {
+        getSharedPreferences().edit().putBoolean(key, value).apply();
+    }
+
+    @Override
+    public void putString(@NonNull String key, @NonNull String value) {
+        getSharedPreferences().edit().putString(key, value).apply();
+    }
+
+    @Override
+    public void delete(@NonNull String key) {
+        getSharedPreferences().edit().remove(key).apply();
+    }
+
+    @Override
+    public @NonNull Batch edit() {
+        final SharedPreferences.Editor editor = getSharedPreferences().edit();
+
+        return new Batch() {
+            @Override
+            public @NonNull Batch putLong(@NonNull String key, long value) {
+                editor.putLong(key, value);
+
+                return this;
+            }
+
+            @Override
+            public @NonNull Batch putInt(@NonNull String key, int value) {
+                editor.putInt(key, value);
+
+                return this;
+            }
+
+            @Override
+            public @NonNull Batch putBoolean(@NonNull String key, boolean value) {
+                editor.putBoolean(key, value);
+
+                return this;
+            }
+
+            @Override
+            public @NonNull Batch putString(@NonNull String key, @NonNull String value) {
+                editor.putString(key, value);
+
+                return this;
+            }
+
+            @Override
+            public @NonNull Batch delete(@NonNull String key) {
+                editor.remove(key);
+
+                return this;
+            }
+
+            @Override
+            public void apply() {
+                editor.apply();
+            }
+        };
+    }
+
+    @Override
+    public boolean isMultiProcess() {
+        return false;
+    }
+
+    @Override
+    public long getVersion() {
+        return 0L;
+    }
+
+    @Override
+    public void lock() { }
+
+    @Override
+    public void unlock() { }
+}
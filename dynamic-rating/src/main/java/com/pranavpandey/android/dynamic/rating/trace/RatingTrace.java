@@ -0,0 +1,66 @@
+/*
+ * Copyright 2022 Pranav Pandey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.pranavpandey.android.dynamic.rating.trace;
+
+import android.os.Trace;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Helper class to wrap the library hot paths in the system trace sections and to report
+ * their timing to a {@link RatingTracer}.
+ * <p>The sections will be visible in the Perfetto or systrace captures.
+ */
+public final class RatingTrace {
+
+    /**
+     * Making default constructor private so that it cannot be initialized.
+     */
+    private RatingTrace() { }
+
+    /**
+     * Begin a trace section with the supplied name.
+     *
+     * @param section The name of the section to be started.
+     * @param tracer The tracer to receive the timing, if any.
+     *
+     * @return The start time in nanoseconds if there is a tracer, otherwise {@code 0}.
+     *
+     * @see #end(String, RatingTracer, long)
+     */
+    public static long begin(@NonNull String section, @Nullable RatingTracer tracer) {
+        Trace.beginSection(section);
+
+        return tracer != null ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * End the trace section started on the current thread.
+     *
+     * @param section The name of the section to be ended.
+     * @param tracer The tracer to receive the timing, if any.
+     * @param start The start time returned by {@link #begin(String, RatingTracer)}.
+     */
+    public static void end(@NonNull String section, @Nullable RatingTracer tracer, long start) {
+        Trace.endSection();
+
+        if (tracer != null) {
+            tracer.onSection(section, start, System.nanoTime());
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2022 Pranav Pandey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.pranavpandey.android.dynamic.rating.review;
+
+import android.app.Activity;
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A local {@link ReviewHandoff} to be used in the tests instead of the app store.
+ * <p>It prepares the supplied request after an optional delay and records the no. of
+ * prepared requests along with the last launched one.
+ *
+ * @param <T> The type of the prepared review request.
+ */
+public class FakeReviewHandoff<T> implements ReviewHandoff<T> {
+
+    /**
+     * Request to be prepared.
+     */
+    private final T mRequest;
+
+    /**
+     * Delay in milliseconds to prepare the request.
+     */
+    private final long mDelay;
+
+    /**
+     * No. of times the request has been prepared.
+     */
+    private final AtomicInteger mPrepareCount;
+
+    /**
+     * No. of times the review flow has been launched.
+     */
+    private final AtomicInteger mLaunchCount;
+
+    /**
+     * Request used by the last launch.
+     */
+    private volatile T mLaunchedRequest;
+
+    /**
+     * Constructor to initialize an object of this class.
+     *
+     * @param request The request to be prepared, {@code null} to fail the preparation.
+     * @param delay The delay in milliseconds to prepare the request.
+     */
+    public FakeReviewHandoff(@Nullable T request, long delay) {
+        this.mRequest = request;
+        this.mDelay = delay;
+        this.mPrepareCount = new AtomicInteger();
+        this.mLaunchCount = new AtomicInteger();
+    }
+
+    @Override
+    public @Nullable T prepare(@NonNull Context context) throws Exception {
+        mPrepareCount.incrementAndGet();
+
+        if (mDelay > 0) {
+            Thread.sleep(mDelay);
+        }
+
+        if (mRequest == null) {
+            throw new IllegalStateException("Review request is not available.");
+        }
+
+        return mRequest;
+    }
+
+    @Override
+    public boolean launch(@NonNull Activity activity, @Nullable T request) {
+        mLaunchedRequest = request;
+        mLaunchCount.incrementAndGet();
+
+        return true;
+    }
+
+    /**
+     * Returns the no. of times the request has been prepared.
+     *
+     * @return The no. of times the request has been prepared.
+     */
+    public int getPrepareCount() {
+        return mPrepareCount.get();
+    }
+
+    /**
+     * Returns the no. of times the review flow has been launched.
+     *
+     * @return The no. of times the review flow has been launched.
+     */
+    public int getLaunchCount() {
+        return mLaunchCount.get();
+    }
+
+    /**
+     * Returns the request used by the last launch.
+     *
+     * @return The request used by the last launch, {@code null} if it was started from
+     *         scratch or has not been launched.
+     */
+    public @Nullable T getLaunchedRequest() {
+        return mLaunchedRequest;
+    }
+}